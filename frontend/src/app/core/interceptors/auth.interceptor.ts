@@ -1,16 +1,31 @@
-import { HttpInterceptorFn } from '@angular/common/http';
+import { HttpInterceptorFn, HttpResponse } from '@angular/common/http';
+import { tap } from 'rxjs';
+
+const READ_AFTER_HEADER = 'X-Read-After';
 
 export const authInterceptor: HttpInterceptorFn = (req, next) => {
   const token = localStorage.getItem('auth_token');
-  
+  const readAfter = sessionStorage.getItem('read_after');
+
+  const headers: Record<string, string> = {};
   if (token) {
-    const clonedRequest = req.clone({
-      setHeaders: {
-        Authorization: `Bearer ${token}`
-      }
-    });
-    return next(clonedRequest);
+    headers['Authorization'] = `Bearer ${token}`;
+  }
+  // Echo the last write token so reads right after our own edits are served from the primary
+  if (readAfter && (req.url.includes('/api/products') || req.url.includes('/api/media'))) {
+    headers[READ_AFTER_HEADER] = readAfter;
   }
-  
-  return next(req);
+
+  const request = Object.keys(headers).length ? req.clone({ setHeaders: headers }) : req;
+
+  return next(request).pipe(
+    tap(event => {
+      if (event instanceof HttpResponse) {
+        const written = event.headers.get(READ_AFTER_HEADER);
+        if (written) {
+          sessionStorage.setItem('read_after', written);
+        }
+      }
+    })
+  );
 };
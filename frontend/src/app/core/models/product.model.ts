@@ -6,8 +6,16 @@ export interface Product {
   quantity: number;
   userId: string;
   imageIds: string[];
+  imagePaths?: string[];
   createdAt: string;
   updatedAt: string;
+  version: number;
+}
+
+export interface ProductPage {
+  items: Product[];
+  nextCursor: string | null;
+  hasMore: boolean;
 }
 
 export interface CreateProductRequest {
@@ -1,5 +1,5 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { Media } from '../models/media.model';
 import { environment } from '../../../environments/environment';
@@ -13,11 +13,10 @@ export class MediaService {
   constructor(private http: HttpClient) {}
 
   uploadMedia(file: File, productId: string): Observable<Media> {
-    const formData = new FormData();
-    formData.append('file', file);
-    formData.append('productId', productId);
-    
-    return this.http.post<Media>(`${this.API_URL}/upload`, formData);
+    // Sends the file as the raw request body so the server can validate and store it in one pass
+    const params = new HttpParams().set('productId', productId);
+
+    return this.http.post<Media>(`${this.API_URL}/upload/stream`, file, { params });
   }
 
   getMediaByProductId(productId: string): Observable<Media[]> {
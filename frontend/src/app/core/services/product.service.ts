@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { Product, CreateProductRequest, UpdateProductRequest } from '../models/product.model';
+import { Product, ProductPage, CreateProductRequest, UpdateProductRequest } from '../models/product.model';
 import { environment } from '../../../environments/environment';
 
 @Injectable({
@@ -12,8 +12,12 @@ export class ProductService {
 
   constructor(private http: HttpClient) {}
 
-  getAllProducts(): Observable<Product[]> {
-    return this.http.get<Product[]>(this.API_URL);
+  getAllProducts(cursor?: string): Observable<ProductPage> {
+    let params = new HttpParams();
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return this.http.get<ProductPage>(this.API_URL, { params });
   }
 
   getProductById(id: string): Observable<Product> {
@@ -35,6 +35,13 @@ import { Product } from '../../../core/models/product.model';
             </div>
           }
         </div>
+        @if (nextCursor) {
+          <div class="load-more">
+            <button class="btn btn-primary" (click)="loadMore()" [disabled]="loadingMore">
+              {{ loadingMore ? 'Loading...' : 'Load more' }}
+            </button>
+          </div>
+        }
       }
     </div>
   `,
@@ -43,6 +50,12 @@ import { Product } from '../../../core/models/product.model';
       margin-bottom: 30px;
     }
 
+    .load-more {
+      display: flex;
+      justify-content: center;
+      margin-top: 30px;
+    }
+
     .product-grid {
       display: grid;
       grid-template-columns: repeat(auto-fill, minmax(300px, 1fr));
@@ -108,7 +121,9 @@ export class ProductListComponent implements OnInit {
   private productService = inject(ProductService);
 
   products: Product[] = [];
+  nextCursor: string | null = null;
   loading = true;
+  loadingMore = false;
 
   ngOnInit(): void {
     this.loadProducts();
@@ -116,8 +131,9 @@ export class ProductListComponent implements OnInit {
 
   loadProducts(): void {
     this.productService.getAllProducts().subscribe({
-      next: (products) => {
-        this.products = products;
+      next: (page) => {
+        this.products = page.items;
+        this.nextCursor = page.nextCursor;
         this.loading = false;
       },
       error: (error) => {
@@ -126,4 +142,22 @@ export class ProductListComponent implements OnInit {
       }
     });
   }
+
+  loadMore(): void {
+    if (!this.nextCursor) {
+      return;
+    }
+    this.loadingMore = true;
+    this.productService.getAllProducts(this.nextCursor).subscribe({
+      next: (page) => {
+        this.products = [...this.products, ...page.items];
+        this.nextCursor = page.nextCursor;
+        this.loadingMore = false;
+      },
+      error: (error) => {
+        console.error('Error loading more products:', error);
+        this.loadingMore = false;
+      }
+    });
+  }
 }
@@ -207,7 +207,7 @@ export class MediaUploadComponent {
   }
 
   getImageUrl(media: Media): string {
-    return `http://localhost:8083${media.imagePath}`;
+    return `http://localhost:8083${media.imagePath}?size=thumb`;
   }
 
   formatFileSize(bytes: number): string {
@@ -1,5 +1,6 @@
 package com.ecommerce.media.config;
 
+import com.ecommerce.observability.mongo.routing.ReadRoutingFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
@@ -18,6 +19,7 @@ public class CorsConfig {
         config.setAllowedOrigins(Arrays.asList("http://localhost:4200", "http://localhost:80"));
         config.setAllowedHeaders(Arrays.asList("*"));
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.setExposedHeaders(Arrays.asList(ReadRoutingFilter.READ_AFTER_HEADER));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", config);
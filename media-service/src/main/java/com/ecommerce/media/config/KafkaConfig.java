@@ -1,6 +1,7 @@
 package com.ecommerce.media.config;
 
 import com.ecommerce.media.event.MediaEvent;
+import com.ecommerce.media.event.ProductEvent;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -22,6 +23,9 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${media.cleanup.max-poll-records}")
+    private int maxPollRecords;
+
     @Bean
     public ProducerFactory<String, MediaEvent> producerFactory() {
         Map<String, Object> config = new HashMap<>();
@@ -54,4 +58,21 @@ public class KafkaConfig {
         factory.setConsumerFactory(consumerFactory());
         return factory;
     }
+
+    // Product events arrive typed as product-service's class, so bind them to our mirror type
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ProductEvent> productEventBatchListenerContainerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, "media-service-group");
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+
+        ConcurrentKafkaListenerContainerFactory<String, ProductEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(config,
+                new StringDeserializer(),
+                new JsonDeserializer<>(ProductEvent.class, false)));
+        factory.setBatchListener(true);
+        return factory;
+    }
 }
@@ -0,0 +1,24 @@
+package com.ecommerce.media.config;
+
+import com.ecommerce.media.model.Media;
+import com.ecommerce.media.model.StoredFile;
+import com.ecommerce.observability.mongo.index.IndexProbes;
+import org.bson.Document;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class MongoIndexConfig {
+
+    @Bean
+    public IndexProbes mediaIndexProbes() {
+        return IndexProbes.forEntities(Media.class, StoredFile.class)
+                .query("MediaRepository.findByProductId", Media.class, new Document("productId", IndexProbes.PROBE))
+                .query("MediaRepository.findByProductIdIn", Media.class, new Document("productId",
+                        new Document("$in", List.of(IndexProbes.PROBE, IndexProbes.PROBE + "-2"))))
+                .query("MediaRepository.findByUploadedBy", Media.class,
+                        new Document("uploadedBy", IndexProbes.PROBE));
+    }
+}
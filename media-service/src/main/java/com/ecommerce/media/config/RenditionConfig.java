@@ -0,0 +1,54 @@
+package com.ecommerce.media.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@Getter
+public class RenditionConfig {
+
+    @Value("${media.renditions.thumb-size}")
+    private int thumbSize;
+
+    @Value("${media.renditions.medium-size}")
+    private int mediumSize;
+
+    @Value("${media.renditions.workers}")
+    private int workers;
+
+    @Value("${media.renditions.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${media.renditions.max-pixels}")
+    private long maxPixels;
+
+    /**
+     * Rendition name to the maximum width or height it is scaled down to.
+     */
+    public Map<String, Integer> getSizes() {
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        sizes.put("thumb", thumbSize);
+        sizes.put("medium", mediumSize);
+        return sizes;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor renditionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("media-rendition-");
+        // Uploads never wait on resizing; a rejected upload is picked up again by the rendition sweep
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
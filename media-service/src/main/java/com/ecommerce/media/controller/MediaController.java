@@ -1,6 +1,7 @@
 package com.ecommerce.media.controller;
 
 import com.ecommerce.media.dto.MediaResponse;
+import com.ecommerce.media.dto.ProductMediaResponse;
 import com.ecommerce.media.service.MediaService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -28,6 +30,23 @@ public class MediaController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/upload/stream")
+    public ResponseEntity<MediaResponse> uploadMediaStream(
+            @RequestParam("productId") String productId,
+            InputStream body,
+            HttpServletRequest httpRequest) {
+        String userId = (String) httpRequest.getAttribute("X-User-Id");
+        MediaResponse response = mediaService.uploadMediaStream(
+                body, httpRequest.getContentLengthLong(), productId, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping(params = "productIds")
+    public ResponseEntity<List<ProductMediaResponse>> getMediaByProductIds(@RequestParam List<String> productIds) {
+        List<ProductMediaResponse> media = mediaService.getMediaByProductIds(productIds);
+        return ResponseEntity.ok(media);
+    }
+
     @GetMapping("/{mediaId}")
     public ResponseEntity<MediaResponse> getMediaById(@PathVariable String mediaId) {
         MediaResponse response = mediaService.getMediaById(mediaId);
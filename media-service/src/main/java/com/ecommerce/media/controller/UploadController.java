@@ -0,0 +1,30 @@
+package com.ecommerce.media.controller;
+
+import com.ecommerce.media.service.FileServingService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/uploads")
+@RequiredArgsConstructor
+public class UploadController {
+
+    private final FileServingService fileServingService;
+
+    @GetMapping("/{fileName:.+}")
+    public void serveFile(
+            @PathVariable String fileName,
+            @RequestParam(required = false) String size,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        fileServingService.serveFile(fileName, size, request, response);
+    }
+}
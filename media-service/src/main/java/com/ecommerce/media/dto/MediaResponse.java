@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @Builder
@@ -21,4 +22,5 @@ public class MediaResponse {
     private Long fileSize;
     private String uploadedBy;
     private LocalDateTime createdAt;
+    private Map<String, String> renditions;
 }
@@ -0,0 +1,19 @@
+package com.ecommerce.media.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductMediaResponse {
+
+    private String productId;
+    private boolean found;
+    private List<MediaResponse> media;
+}
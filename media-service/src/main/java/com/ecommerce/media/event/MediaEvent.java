@@ -15,4 +15,5 @@ public class MediaEvent {
     private String mediaId;
     private String productId;
     private String imagePath;
+    private String uploadedBy;
 }
@@ -14,23 +14,25 @@ public class MediaEventProducer {
 
     private final KafkaTemplate<String, MediaEvent> kafkaTemplate;
 
-    public void publishMediaUploadedEvent(String mediaId, String productId, String imagePath) {
+    public void publishMediaUploadedEvent(String mediaId, String productId, String imagePath, String uploadedBy) {
         MediaEvent event = MediaEvent.builder()
                 .eventType("MEDIA_UPLOADED")
                 .mediaId(mediaId)
                 .productId(productId)
                 .imagePath(imagePath)
+                .uploadedBy(uploadedBy)
                 .build();
 
         kafkaTemplate.send(MEDIA_TOPIC, mediaId, event);
         log.info("Published MEDIA_UPLOADED event for media: {}", mediaId);
     }
 
-    public void publishMediaDeletedEvent(String mediaId, String productId) {
+    public void publishMediaDeletedEvent(String mediaId, String productId, String uploadedBy) {
         MediaEvent event = MediaEvent.builder()
                 .eventType("MEDIA_DELETED")
                 .mediaId(mediaId)
                 .productId(productId)
+                .uploadedBy(uploadedBy)
                 .build();
 
         kafkaTemplate.send(MEDIA_TOPIC, mediaId, event);
@@ -1,37 +1,54 @@
 package com.ecommerce.media.event;
 
-import com.ecommerce.media.repository.MediaRepository;
-import com.ecommerce.media.service.FileStorageService;
+import com.ecommerce.media.model.Media;
+import com.ecommerce.media.service.FileCleanupWorker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class ProductEventConsumer {
 
-    private final MediaRepository mediaRepository;
-    private final FileStorageService fileStorageService;
+    private final MongoTemplate mongoTemplate;
+    private final FileCleanupWorker fileCleanupWorker;
 
-    @KafkaListener(topics = "product-events", groupId = "media-service-group")
-    public void handleProductEvent(ProductEvent event) {
-        log.info("Received product event: {}", event.getEventType());
+    @KafkaListener(topics = "product-events", groupId = "media-service-group",
+            containerFactory = "productEventBatchListenerContainerFactory")
+    public void handleProductEvents(List<ProductEvent> events) {
+        List<String> productIds = events.stream()
+                .filter(event -> "PRODUCT_DELETED".equals(event.getEventType()))
+                .map(ProductEvent::getProductId)
+                .distinct()
+                .toList();
+        log.info("Received {} product events, {} deletions", events.size(), productIds.size());
 
-        if ("PRODUCT_DELETED".equals(event.getEventType())) {
-            deleteMediaByProductId(event.getProductId());
+        if (!productIds.isEmpty()) {
+            deleteMediaByProductIds(productIds);
         }
     }
 
-    private void deleteMediaByProductId(String productId) {
-        log.info("Deleting all media for deleted product: {}", productId);
-        
-        mediaRepository.findByProductId(productId).forEach(media -> {
-            fileStorageService.deleteFile(media.getFileName());
-            mediaRepository.delete(media);
-        });
-        
-        log.info("Media deleted for product: {}", productId);
+    private void deleteMediaByProductIds(List<String> productIds) {
+        Query query = Query.query(Criteria.where("productId").in(productIds));
+        query.fields().include("_id").include("fileName");
+        List<Media> media = mongoTemplate.find(query, Media.class);
+        if (media.isEmpty()) {
+            return;
+        }
+
+        // Remove exactly the documents that were read, so a file is never left without its cleanup
+        List<String> mediaIds = media.stream().map(Media::getId).toList();
+        long deleted = mongoTemplate.remove(Query.query(Criteria.where("_id").in(mediaIds)), Media.class)
+                .getDeletedCount();
+        fileCleanupWorker.deleteFilesAsync(media.stream().map(Media::getFileName).toList());
+
+        log.info("Deleted {} media documents for {} products", deleted, productIds.size());
     }
 }
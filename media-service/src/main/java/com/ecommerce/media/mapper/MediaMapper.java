@@ -4,6 +4,10 @@ import com.ecommerce.media.dto.MediaResponse;
 import com.ecommerce.media.model.Media;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Component
 public class MediaMapper {
 
@@ -17,6 +21,16 @@ public class MediaMapper {
                 .fileSize(media.getFileSize())
                 .uploadedBy(media.getUploadedBy())
                 .createdAt(media.getCreatedAt())
+                .renditions(toRenditionPaths(media.getRenditions()))
                 .build();
     }
+
+    private Map<String, String> toRenditionPaths(Map<String, String> renditions) {
+        if (renditions == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> paths = new LinkedHashMap<>();
+        renditions.forEach((size, fileName) -> paths.put(size, "/uploads/" + fileName));
+        return paths;
+    }
 }
@@ -5,15 +5,20 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "media")
+// Missing renditions index as null, so the rendition sweep finds them without scanning
+@CompoundIndex(name = "renditions_pending_idx", def = "{'renditions': 1, 'createdAt': 1}")
 public class Media {
 
     @Id
@@ -21,6 +26,7 @@ public class Media {
 
     private String imagePath;
 
+    @Indexed
     private String productId;
 
     private String fileName;
@@ -29,7 +35,10 @@ public class Media {
 
     private Long fileSize;
 
+    @Indexed
     private String uploadedBy;
 
     private LocalDateTime createdAt;
+
+    private Map<String, String> renditions;
 }
@@ -0,0 +1,37 @@
+package com.ecommerce.media.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reference count for a content-addressed file in the upload directory, keyed by its stored file name.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "stored_files")
+public class StoredFile {
+
+    @Id
+    private String id;
+
+    private long refCount;
+
+    private Long size;
+
+    private LocalDateTime createdAt;
+
+    @Indexed(sparse = true)
+    private LocalDateTime orphanedAt;
+
+    // Set by the sweep while it deletes the bytes; no new reference can be taken until the record is gone
+    private boolean deleting;
+}
@@ -4,6 +4,7 @@ import com.ecommerce.media.model.Media;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,5 +12,7 @@ public interface MediaRepository extends MongoRepository<Media, String> {
 
     List<Media> findByProductId(String productId);
 
+    List<Media> findByProductIdIn(Collection<String> productIds);
+
     List<Media> findByUploadedBy(String userId);
 }
@@ -0,0 +1,27 @@
+package com.ecommerce.media.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FileCleanupWorker {
+
+    private final FileStorageService fileStorageService;
+    private final ThreadPoolTaskExecutor fileCleanupExecutor;
+
+    public void deleteFilesAsync(List<String> fileNames) {
+        if (fileNames.isEmpty()) {
+            return;
+        }
+        fileCleanupExecutor.execute(() -> {
+            fileNames.forEach(fileStorageService::deleteFile);
+            log.info("Released {} files of deleted products", fileNames.size());
+        });
+    }
+}
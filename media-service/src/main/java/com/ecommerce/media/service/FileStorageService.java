@@ -2,42 +2,199 @@ package com.ecommerce.media.service;
 
 import com.ecommerce.media.config.MediaConfig;
 import com.ecommerce.media.exception.FileUploadException;
+import com.ecommerce.media.model.StoredFile;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
 
+/**
+ * Stores uploads under the SHA-256 of their content, so identical uploads share one file. A reference
+ * count in {@code stored_files} tracks how many media documents point at each file; bytes are removed
+ * by {@link #sweepOrphanedFiles()} once the count has stayed at zero for the grace period.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FileStorageService {
 
+    private static final int MAX_REFERENCE_ATTEMPTS = 5;
+    private static final long REFERENCE_RETRY_MILLIS = 100;
+
     private final MediaConfig mediaConfig;
+    private final MongoTemplate mongoTemplate;
+    private final RenditionService renditionService;
+
+    @Value("${media.storage.orphan-grace-seconds}")
+    private long orphanGraceSeconds;
 
-    public String storeFile(MultipartFile file) {
+    /**
+     * Stores a multipart upload. As with {@link #storeStream}, the extension follows the content type
+     * recognised from the file's bytes, never the client-supplied file name.
+     */
+    public String storeFile(MultipartFile file, String contentType) {
         validateFile(file);
 
-        String fileName = generateUniqueFileName(file.getOriginalFilename());
-        Path uploadPath = createUploadDirectory();
-        Path filePath = uploadPath.resolve(fileName);
+        try (InputStream input = file.getInputStream()) {
+            return store(input, extensionFor(contentType)).getId();
+        } catch (IOException ex) {
+            throw new FileUploadException("Failed to store file: " + file.getOriginalFilename(), ex);
+        }
+    }
 
+    /**
+     * Stores an upload read straight from the request body. The stream is consumed once: it is hashed
+     * while written to a temp file, which is then renamed into place. The extension follows the content
+     * type recognised from the file itself rather than a client-supplied name.
+     */
+    public StoredFile storeStream(InputStream input, String contentType) {
         try {
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-            log.info("File stored successfully: {}", fileName);
-            return fileName;
+            return store(input, extensionFor(contentType));
         } catch (IOException ex) {
-            throw new FileUploadException("Failed to store file: " + fileName, ex);
+            throw new FileUploadException("Failed to store streamed upload", ex);
         }
     }
 
     public void deleteFile(String fileName) {
+        StoredFile storedFile = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(fileName)),
+                new Update().inc("refCount", -1),
+                FindAndModifyOptions.options().returnNew(true),
+                StoredFile.class);
+
+        if (storedFile == null) {
+            // Files written before content addressing have no reference count and are owned by a single media
+            deleteBytes(fileName);
+            renditionService.renditionFileNames(fileName).forEach(this::deleteBytes);
+            return;
+        }
+        if (storedFile.getRefCount() <= 0) {
+            mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(fileName).and("refCount").lte(0)),
+                    new Update().set("orphanedAt", LocalDateTime.now()),
+                    StoredFile.class);
+            log.info("Last reference to file released: {}", fileName);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${media.storage.sweep-interval-ms}")
+    public void sweepOrphanedFiles() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(orphanGraceSeconds);
+        List<StoredFile> orphans = mongoTemplate.find(
+                Query.query(Criteria.where("refCount").lte(0).and("orphanedAt").lt(cutoff)).limit(500),
+                StoredFile.class);
+        orphans.forEach(orphan -> sweep(orphan.getId()));
+    }
+
+    StoredFile store(InputStream input, String extension) throws IOException {
+        Path uploadPath = createUploadDirectory();
+        Path temp = Files.createTempFile(uploadPath, ".upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (OutputStream output = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                size = input.transferTo(output);
+            }
+            String fileName = HexFormat.of().formatHex(digest.digest()) + extension;
+            return commit(temp, fileName, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Takes a reference on {@code fileName} and makes sure its bytes are in place. The reference is
+     * taken first so a concurrent sweep can never remove bytes that this upload is about to rely on.
+     */
+    StoredFile commit(Path temp, String fileName, long size) throws IOException {
+        StoredFile storedFile = reference(fileName, size);
+
+        Path target = Paths.get(mediaConfig.getUploadDirectory()).resolve(fileName);
+        if (Files.exists(target)) {
+            log.info("Deduplicated upload onto existing file: {} ({} references)", fileName,
+                    storedFile.getRefCount());
+            return storedFile;
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            deleteFile(fileName);
+            throw ex;
+        }
+        log.info("File stored successfully: {}", fileName);
+        return storedFile;
+    }
+
+    /**
+     * Increments the reference count, creating the record for new content. A record claimed by the sweep
+     * cannot be referenced, so the upsert collides with it; the upload waits for the sweep to drop the
+     * record and then writes a fresh copy.
+     */
+    private StoredFile reference(String fileName, long size) {
+        Query notDeleting = Query.query(Criteria.where("_id").is(fileName).and("deleting").ne(true));
+        Update update = new Update().inc("refCount", 1)
+                .unset("orphanedAt")
+                .setOnInsert("size", size)
+                .setOnInsert("createdAt", LocalDateTime.now());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return mongoTemplate.findAndModify(notDeleting, update,
+                        FindAndModifyOptions.options().upsert(true).returnNew(true), StoredFile.class);
+            } catch (DuplicateKeyException ex) {
+                if (attempt == MAX_REFERENCE_ATTEMPTS) {
+                    throw new FileUploadException("Stored file is being removed, please retry: " + fileName, ex);
+                }
+            }
+            try {
+                Thread.sleep(REFERENCE_RETRY_MILLIS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new FileUploadException("Interrupted while storing file: " + fileName, ex);
+            }
+        }
+    }
+
+    private void sweep(String fileName) {
+        // Claim the record first: once claimed nothing can reference the file again, so the original and
+        // its renditions are deleted together and a file that was re-referenced is never touched
+        boolean claimed = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(fileName).and("refCount").lte(0)),
+                new Update().set("deleting", true),
+                StoredFile.class).getMatchedCount() > 0;
+        if (!claimed) {
+            return;
+        }
+
+        deleteBytes(fileName);
+        renditionService.renditionFileNames(fileName).forEach(this::deleteBytes);
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(fileName).and("deleting").is(true)),
+                StoredFile.class);
+        log.info("Orphaned file removed: {}", fileName);
+    }
+
+    private void deleteBytes(String fileName) {
         try {
             Path filePath = Paths.get(mediaConfig.getUploadDirectory()).resolve(fileName);
             Files.deleteIfExists(filePath);
@@ -53,16 +210,22 @@ public class FileStorageService {
         }
     }
 
-    private String generateUniqueFileName(String originalFileName) {
-        String extension = extractFileExtension(originalFileName);
-        return UUID.randomUUID().toString() + extension;
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
     }
 
-    private String extractFileExtension(String fileName) {
-        if (fileName == null || !fileName.contains(".")) {
-            return "";
-        }
-        return fileName.substring(fileName.lastIndexOf("."));
+    private String extensionFor(String contentType) {
+        return switch (contentType) {
+            case "image/jpeg" -> ".jpg";
+            case "image/png" -> ".png";
+            case "image/gif" -> ".gif";
+            case "image/webp" -> ".webp";
+            default -> "";
+        };
     }
 
     private Path createUploadDirectory() {
@@ -1,18 +1,28 @@
 package com.ecommerce.media.service;
 
 import com.ecommerce.media.dto.MediaResponse;
+import com.ecommerce.media.dto.ProductMediaResponse;
 import com.ecommerce.media.event.MediaEventProducer;
+import com.ecommerce.media.exception.FileUploadException;
+import com.ecommerce.media.exception.InvalidRequestException;
 import com.ecommerce.media.exception.MediaNotFoundException;
 import com.ecommerce.media.mapper.MediaMapper;
 import com.ecommerce.media.model.Media;
+import com.ecommerce.media.model.StoredFile;
 import com.ecommerce.media.repository.MediaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,28 +30,69 @@ import java.util.stream.Collectors;
 @Slf4j
 public class MediaService {
 
+    private static final int MAX_LOOKUP_SIZE = 100;
+
     private final MediaRepository mediaRepository;
     private final MediaMapper mediaMapper;
     private final FileStorageService fileStorageService;
     private final MediaValidationService mediaValidationService;
     private final MediaEventProducer mediaEventProducer;
+    private final RenditionService renditionService;
 
     public MediaResponse uploadMedia(MultipartFile file, String productId, String userId) {
         log.info("Uploading media for product: {} by user: {}", productId, userId);
 
-        mediaValidationService.validateMediaFile(file);
+        String contentType = mediaValidationService.validateMediaFile(file);
+
+        String fileName = fileStorageService.storeFile(file, contentType);
+
+        return saveUploadedMedia(buildMedia(fileName, contentType, file.getSize(), productId, userId));
+    }
 
-        String fileName = fileStorageService.storeFile(file);
+    /**
+     * Uploads an image sent as the raw request body. The body is read once: its leading bytes decide the
+     * content type, so a file that is not a supported image is rejected before anything is written.
+     */
+    public MediaResponse uploadMediaStream(InputStream body, long contentLength, String productId, String userId) {
+        log.info("Streaming media upload for product: {} by user: {}", productId, userId);
+
+        mediaValidationService.validateDeclaredSize(contentLength);
+
+        byte[] signature;
+        try {
+            signature = body.readNBytes(MediaValidationService.SIGNATURE_LENGTH);
+        } catch (IOException ex) {
+            throw new FileUploadException("Failed to read upload stream", ex);
+        }
+        String contentType = mediaValidationService.validateSignature(signature);
+
+        InputStream content = mediaValidationService.limitSize(
+                new SequenceInputStream(new ByteArrayInputStream(signature), body));
+        StoredFile storedFile = fileStorageService.storeStream(content, contentType);
+
+        return saveUploadedMedia(
+                buildMedia(storedFile.getId(), contentType, storedFile.getSize(), productId, userId));
+    }
 
-        Media media = buildMediaFromFile(file, fileName, productId, userId);
-        Media savedMedia = mediaRepository.save(media);
+    private MediaResponse saveUploadedMedia(Media media) {
+        Media savedMedia;
+        try {
+            savedMedia = mediaRepository.save(media);
+        } catch (RuntimeException ex) {
+            // Give back the storage reference taken for this upload
+            fileStorageService.deleteFile(media.getFileName());
+            throw ex;
+        }
 
         log.info("Media uploaded successfully with ID: {}", savedMedia.getId());
 
+        renditionService.generateAsync(savedMedia);
+
         mediaEventProducer.publishMediaUploadedEvent(
                 savedMedia.getId(),
                 savedMedia.getProductId(),
-                savedMedia.getImagePath()
+                savedMedia.getImagePath(),
+                savedMedia.getUploadedBy()
         );
 
         return mediaMapper.toMediaResponse(savedMedia);
@@ -62,6 +113,29 @@ public class MediaService {
                 .collect(Collectors.toList());
     }
 
+    public List<ProductMediaResponse> getMediaByProductIds(List<String> productIds) {
+        log.info("Fetching media for {} products", productIds.size());
+
+        if (productIds.isEmpty()) {
+            throw new InvalidRequestException("At least one product ID is required");
+        }
+        if (productIds.size() > MAX_LOOKUP_SIZE) {
+            throw new InvalidRequestException("At most " + MAX_LOOKUP_SIZE + " product IDs are allowed per request");
+        }
+
+        Map<String, List<MediaResponse>> mediaByProduct = mediaRepository.findByProductIdIn(productIds).stream()
+                .map(mediaMapper::toMediaResponse)
+                .collect(Collectors.groupingBy(MediaResponse::getProductId));
+
+        return productIds.stream()
+                .map(productId -> ProductMediaResponse.builder()
+                        .productId(productId)
+                        .found(mediaByProduct.containsKey(productId))
+                        .media(mediaByProduct.getOrDefault(productId, Collections.emptyList()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     public List<MediaResponse> getMediaByUserId(String userId) {
         log.info("Fetching media uploaded by user: {}", userId);
 
@@ -78,18 +152,18 @@ public class MediaService {
         fileStorageService.deleteFile(media.getFileName());
         mediaRepository.delete(media);
 
-        mediaEventProducer.publishMediaDeletedEvent(mediaId, media.getProductId());
+        mediaEventProducer.publishMediaDeletedEvent(mediaId, media.getProductId(), media.getUploadedBy());
 
         log.info("Media deleted successfully: {}", mediaId);
     }
 
-    private Media buildMediaFromFile(MultipartFile file, String fileName, String productId, String userId) {
+    private Media buildMedia(String fileName, String contentType, long fileSize, String productId, String userId) {
         return Media.builder()
                 .imagePath("/uploads/" + fileName)
                 .productId(productId)
                 .fileName(fileName)
-                .contentType(file.getContentType())
-                .fileSize(file.getSize())
+                .contentType(contentType)
+                .fileSize(fileSize)
                 .uploadedBy(userId)
                 .createdAt(LocalDateTime.now())
                 .build();
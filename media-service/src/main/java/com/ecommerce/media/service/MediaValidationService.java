@@ -2,12 +2,19 @@ package com.ecommerce.media.service;
 
 import com.ecommerce.media.config.MediaConfig;
 import com.ecommerce.media.exception.FileSizeExceededException;
+import com.ecommerce.media.exception.FileUploadException;
 import com.ecommerce.media.exception.InvalidFileTypeException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -17,16 +24,64 @@ public class MediaValidationService {
 
     private static final long MAX_FILE_SIZE = 2097152L;
 
-    public void validateMediaFile(MultipartFile file) {
+    /** Number of leading bytes needed to recognise every allowed image format. */
+    public static final int SIGNATURE_LENGTH = 12;
+
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] GIF87_SIGNATURE = "GIF87a".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GIF89_SIGNATURE = "GIF89a".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RIFF_SIGNATURE = "RIFF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] WEBP_SIGNATURE = "WEBP".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Validates a multipart upload and returns the content type recognised from its leading bytes, which
+     * is what the file is stored and served as; the client's declared type is only a first filter.
+     */
+    public String validateMediaFile(MultipartFile file) {
         validateFileSize(file);
         validateFileType(file);
+        return validateFileContent(file);
+    }
+
+    public void validateDeclaredSize(long contentLength) {
+        if (contentLength > MAX_FILE_SIZE) {
+            log.warn("Declared upload size exceeds limit: {} bytes", contentLength);
+            throw new FileSizeExceededException(
+                    String.format("File size exceeds the maximum allowed limit of 2MB. File size: %d bytes",
+                            contentLength)
+            );
+        }
+    }
+
+    /**
+     * Returns the content type recognised from the leading bytes of a file, rejecting anything that is
+     * not one of the allowed image formats.
+     */
+    public String validateSignature(byte[] signature) {
+        String contentType = detectContentType(signature);
+
+        if (contentType == null || !isValidImageType(contentType)) {
+            log.warn("Unrecognised file signature: {}", contentType);
+            throw new InvalidFileTypeException(
+                    "File content is not a supported image. Allowed types: image/jpeg, image/png, image/gif, image/webp"
+            );
+        }
+        return contentType;
+    }
+
+    /**
+     * Wraps an upload stream so reading past the size limit fails instead of writing more bytes.
+     */
+    public InputStream limitSize(InputStream input) {
+        return new SizeLimitedInputStream(input, MAX_FILE_SIZE);
     }
 
     private void validateFileSize(MultipartFile file) {
         if (file.getSize() > MAX_FILE_SIZE) {
             log.warn("File size exceeds limit: {} bytes", file.getSize());
             throw new FileSizeExceededException(
-                    String.format("File size exceeds the maximum allowed limit of 2MB. File size: %d bytes", 
+                    String.format("File size exceeds the maximum allowed limit of 2MB. File size: %d bytes",
                             file.getSize())
             );
         }
@@ -34,17 +89,93 @@ public class MediaValidationService {
 
     private void validateFileType(MultipartFile file) {
         String contentType = file.getContentType();
-        
+
         if (contentType == null || !isValidImageType(contentType)) {
             log.warn("Invalid file type: {}", contentType);
             throw new InvalidFileTypeException(
-                    String.format("Invalid file type: %s. Allowed types: image/jpeg, image/png, image/gif, image/webp", 
+                    String.format("Invalid file type: %s. Allowed types: image/jpeg, image/png, image/gif, image/webp",
                             contentType)
             );
         }
     }
 
+    private String validateFileContent(MultipartFile file) {
+        try (InputStream input = file.getInputStream()) {
+            return validateSignature(input.readNBytes(SIGNATURE_LENGTH));
+        } catch (IOException ex) {
+            throw new FileUploadException("Failed to read file: " + file.getOriginalFilename(), ex);
+        }
+    }
+
+    private String detectContentType(byte[] signature) {
+        if (startsWith(signature, 0, JPEG_SIGNATURE)) {
+            return "image/jpeg";
+        }
+        if (startsWith(signature, 0, PNG_SIGNATURE)) {
+            return "image/png";
+        }
+        if (startsWith(signature, 0, GIF87_SIGNATURE) || startsWith(signature, 0, GIF89_SIGNATURE)) {
+            return "image/gif";
+        }
+        if (startsWith(signature, 0, RIFF_SIGNATURE) && startsWith(signature, 8, WEBP_SIGNATURE)) {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    private boolean startsWith(byte[] data, int offset, byte[] prefix) {
+        return data.length >= offset + prefix.length
+                && Arrays.equals(data, offset, offset + prefix.length, prefix, 0, prefix.length);
+    }
+
     private boolean isValidImageType(String contentType) {
         return mediaConfig.getAllowedTypes().contains(contentType);
     }
+
+    private static class SizeLimitedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long count;
+
+        SizeLimitedInputStream(InputStream input, long limit) {
+            super(input);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        private void count(long read) {
+            count += read;
+            if (count > limit) {
+                log.warn("Upload stream exceeded limit of {} bytes", limit);
+                throw new FileSizeExceededException(
+                        String.format("File size exceeds the maximum allowed limit of 2MB. Read more than %d bytes",
+                                limit)
+                );
+            }
+        }
+    }
 }
@@ -0,0 +1,247 @@
+package com.ecommerce.media.service;
+
+import com.ecommerce.media.config.MediaConfig;
+import com.ecommerce.media.config.RenditionConfig;
+import com.ecommerce.media.exception.InvalidRequestException;
+import com.ecommerce.media.model.Media;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RenditionService {
+
+    // Uploads younger than this are still on their way through the queue
+    private static final long SWEEP_MIN_AGE_SECONDS = 60;
+
+    private final MediaConfig mediaConfig;
+    private final RenditionConfig renditionConfig;
+    private final MongoTemplate mongoTemplate;
+    private final ThreadPoolTaskExecutor renditionExecutor;
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    public void generateAsync(Media media) {
+        if (!submit(media)) {
+            log.warn("Rendition queue full, deferring renditions for media {} to the next sweep", media.getId());
+        }
+    }
+
+    /**
+     * Re-queues media that never got renditions, e.g. because the queue was full at upload time or the
+     * instance stopped before reaching them. Media that cannot have renditions are marked with an empty map.
+     */
+    @Scheduled(fixedDelayString = "${media.renditions.sweep-interval-ms:60000}")
+    public void requeueMissingRenditions() {
+        int capacity = renditionExecutor.getQueueCapacity() - renditionExecutor.getQueueSize();
+        if (capacity <= 0) {
+            return;
+        }
+        Query pending = Query.query(Criteria.where("renditions").is(null)
+                        .and("createdAt").lt(LocalDateTime.now().minusSeconds(SWEEP_MIN_AGE_SECONDS)))
+                .limit(capacity);
+        int requeued = 0;
+        for (Media media : mongoTemplate.find(pending, Media.class)) {
+            if (queued.contains(media.getId())) {
+                continue;
+            }
+            if (!submit(media)) {
+                break;
+            }
+            requeued++;
+        }
+        if (requeued > 0) {
+            log.info("Re-queued renditions for {} media", requeued);
+        }
+    }
+
+    private boolean submit(Media media) {
+        if (!queued.add(media.getId())) {
+            return true;
+        }
+        try {
+            renditionExecutor.execute(() -> {
+                try {
+                    generate(media);
+                } finally {
+                    queued.remove(media.getId());
+                }
+            });
+            return true;
+        } catch (TaskRejectedException ex) {
+            queued.remove(media.getId());
+            return false;
+        }
+    }
+
+    /**
+     * Name of the rendition stored next to an original, e.g. {@code abc.jpg} -> {@code abc_thumb.jpg}.
+     * WebP originals get PNG renditions, e.g. {@code abc.webp} -> {@code abc_thumb.png}.
+     */
+    public String renditionFileName(String fileName, String size) {
+        if (!renditionConfig.getSizes().containsKey(size)) {
+            throw new InvalidRequestException("Size must be one of: " + String.join(", ", renditionConfig.getSizes().keySet()));
+        }
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0) {
+            return fileName + "_" + size;
+        }
+        String extension = fileName.substring(dot);
+        return fileName.substring(0, dot) + "_" + size + (".webp".equalsIgnoreCase(extension) ? ".png" : extension);
+    }
+
+    public List<String> renditionFileNames(String fileName) {
+        List<String> names = new ArrayList<>();
+        renditionConfig.getSizes().keySet().forEach(size -> names.add(renditionFileName(fileName, size)));
+        return names;
+    }
+
+    private void generate(Media media) {
+        Path directory = Paths.get(mediaConfig.getUploadDirectory());
+        String format = formatOf(media.getFileName());
+        BufferedImage original;
+        try {
+            original = format == null ? null : read(directory.resolve(media.getFileName()), media.getId());
+        } catch (IOException ex) {
+            log.warn("Could not read media {} for renditions", media.getId(), ex);
+            original = null;
+        }
+        if (original == null) {
+            // Nothing to retry: mark the media so the sweep does not pick it up again
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(media.getId())),
+                    new Update().set("renditions", Collections.emptyMap()), Media.class);
+            return;
+        }
+
+        Update update = new Update();
+        for (Map.Entry<String, Integer> size : renditionConfig.getSizes().entrySet()) {
+            String renditionName = renditionFileName(media.getFileName(), size.getKey());
+            Path target = directory.resolve(renditionName);
+            try {
+                // Identical content shares a stored name, so its renditions may already exist
+                if (!Files.exists(target)) {
+                    writeAtomically(scale(original, size.getValue(), format), format, target);
+                }
+                update.set("renditions." + size.getKey(), renditionName);
+            } catch (IOException ex) {
+                log.warn("Failed to write {} rendition for media {}", size.getKey(), media.getId(), ex);
+            }
+        }
+        if (!update.getUpdateObject().isEmpty()) {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(media.getId())), update, Media.class);
+            log.info("Renditions generated for media: {}", media.getId());
+        }
+    }
+
+    /**
+     * Decodes an image for scaling. The dimensions are read from the header first, so an image over the
+     * pixel cap is never decoded, and large sources are subsampled while decoding to about twice the
+     * largest rendition. Returns null for unsupported or oversized images.
+     */
+    private BufferedImage read(Path file, String mediaId) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = input == null ? Collections.emptyIterator() : ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                log.info("No renditions for media {}: unsupported image format", mediaId);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > renditionConfig.getMaxPixels()) {
+                    log.warn("No renditions for media {}: {}x{} exceeds the pixel limit", mediaId, width, height);
+                    return null;
+                }
+
+                int largestRendition = Collections.max(renditionConfig.getSizes().values());
+                int subsampling = Math.max(1, Math.max(width, height) / (2 * largestRendition));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage original, int maxDimension, String format) {
+        int width = original.getWidth();
+        int height = original.getHeight();
+        double factor = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * factor));
+        int targetHeight = Math.max(1, (int) Math.round(height * factor));
+
+        // JPEG has no alpha channel, so only formats that can carry transparency keep it
+        int type = "jpg".equals(format) ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage scaled = new BufferedImage(targetWidth, targetHeight, type);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(original, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private void writeAtomically(BufferedImage image, String format, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".rendition-", ".tmp");
+        try {
+            if (!ImageIO.write(image, format, temp.toFile())) {
+                throw new IOException("No image writer for format: " + format);
+            }
+            // Readers only ever see a complete rendition or none at all
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * The ImageIO format renditions of a file are written in, or null when none can be made.
+     */
+    private String formatOf(String fileName) {
+        String extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return switch (extension) {
+            case "jpg", "jpeg" -> "jpg";
+            case "png" -> "png";
+            case "gif" -> "gif";
+            // Decoded by the WebP ImageIO plugin, which cannot encode, so renditions are written as PNG
+            case "webp" -> "png";
+            default -> null;
+        };
+    }
+}
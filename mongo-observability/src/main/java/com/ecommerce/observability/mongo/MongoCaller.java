@@ -0,0 +1,74 @@
+package com.ecommerce.observability.mongo;
+
+import java.util.Optional;
+
+/**
+ * Names the application code that issued a Mongo command. Repository calls are labelled by the
+ * repository proxy; direct MongoTemplate use falls back to the nearest application frame on the stack.
+ */
+public final class MongoCaller {
+
+    private static final String APPLICATION_PACKAGE = "com.ecommerce.";
+    private static final String OWN_PACKAGE = "com.ecommerce.observability.";
+    private static final String UNKNOWN = "unknown";
+    private static final String TEMPLATE = "MongoTemplate";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private MongoCaller() {
+    }
+
+    /**
+     * Returns the caller set by a repository proxy. Only when none is set, and {@code walkStack} allows it,
+     * is the stack walked for the nearest application frame; otherwise the command is labelled MongoTemplate.
+     */
+    public static String current(boolean walkStack) {
+        String caller = CURRENT.get();
+        if (caller != null) {
+            return caller;
+        }
+        return walkStack ? fromStack() : TEMPLATE;
+    }
+
+    /**
+     * Sets the caller for the current thread and returns the one it replaces, for {@link #restore}.
+     */
+    static String enter(String caller) {
+        String previous = CURRENT.get();
+        CURRENT.set(caller);
+        return previous;
+    }
+
+    static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    private static String fromStack() {
+        Optional<StackWalker.StackFrame> frame = STACK_WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !f.getClassName().startsWith(OWN_PACKAGE))
+                .findFirst());
+        return frame.map(f -> simpleClassName(f.getClassName()) + "." + methodName(f.getMethodName()))
+                .orElse(UNKNOWN);
+    }
+
+    private static String simpleClassName(String className) {
+        String simple = className.substring(className.lastIndexOf('.') + 1);
+        int proxySuffix = simple.indexOf("$$");
+        return proxySuffix > 0 ? simple.substring(0, proxySuffix) : simple;
+    }
+
+    private static String methodName(String methodName) {
+        // lambda$getProductById$3 -> getProductById
+        if (methodName.startsWith("lambda$")) {
+            int end = methodName.indexOf('$', "lambda$".length());
+            return end > 0 ? methodName.substring("lambda$".length(), end) : methodName;
+        }
+        return methodName;
+    }
+}
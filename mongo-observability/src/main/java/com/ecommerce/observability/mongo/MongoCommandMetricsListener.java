@@ -0,0 +1,105 @@
+package com.ecommerce.observability.mongo;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every Mongo command into {@code mongo.command} (tags: command, collection, caller, status),
+ * logs commands slower than the threshold with their query shape, and feeds the shape registry.
+ */
+@Slf4j
+public class MongoCommandMetricsListener implements CommandListener {
+
+    private static final Set<String> COLLECTION_COMMANDS = Set.of("find", "insert", "update", "delete",
+            "findAndModify", "aggregate", "count", "distinct", "createIndexes", "listIndexes", "explain");
+
+    private final MeterRegistry meterRegistry;
+    private final QueryShapeRegistry queryShapeRegistry;
+    private final long slowThresholdNanos;
+    private final boolean callerStackWalk;
+    private final Map<Integer, StartedCommand> inFlight = new ConcurrentHashMap<>();
+
+    public MongoCommandMetricsListener(MeterRegistry meterRegistry, QueryShapeRegistry queryShapeRegistry,
+                                       Duration slowThreshold, boolean callerStackWalk) {
+        this.meterRegistry = meterRegistry;
+        this.queryShapeRegistry = queryShapeRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.callerStackWalk = callerStackWalk;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String commandName = event.getCommandName();
+        BsonDocument command = event.getCommand();
+        String collection = collectionOf(commandName, command);
+        // Repository calls are already labelled; admin commands are not attributed, so skip the stack walk
+        String caller = MongoCaller.current(callerStackWalk && !"none".equals(collection));
+        // The command document is only valid during this callback, so everything is extracted here
+        inFlight.put(event.getRequestId(), new StartedCommand(collection, caller, QueryShape.of(commandName, command)));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        complete(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS), "success");
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        complete(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS), "failure");
+    }
+
+    private void complete(int requestId, String commandName, long elapsedNanos, String status) {
+        StartedCommand started = inFlight.remove(requestId);
+        if (started == null) {
+            return;
+        }
+
+        Timer.builder("mongo.command")
+                .description("Mongo command latency by command, collection and calling code")
+                .tag("command", commandName)
+                .tag("collection", started.collection())
+                .tag("caller", started.caller())
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (!"none".equals(started.collection())) {
+            queryShapeRegistry.record(commandName, started.collection(), started.shape(), started.caller(), elapsedNanos);
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            log.warn("Slow Mongo {} on {} from {} took {} ms: {}", commandName, started.collection(),
+                    started.caller(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), started.shape());
+        }
+    }
+
+    private static String collectionOf(String commandName, BsonDocument command) {
+        if ("getMore".equals(commandName)) {
+            BsonValue collection = command.get("collection");
+            return collection != null && collection.isString() ? collection.asString().getValue() : "none";
+        }
+        if (COLLECTION_COMMANDS.contains(commandName)) {
+            BsonValue collection = command.get(commandName);
+            if (collection != null && collection.isString()) {
+                return collection.asString().getValue();
+            }
+        }
+        return "none";
+    }
+
+    private record StartedCommand(String collection, String caller, String shape) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.observability.mongo;
+
+import com.mongodb.client.MongoClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+@AutoConfiguration
+@ConditionalOnClass(MongoClient.class)
+public class MongoObservabilityAutoConfiguration {
+
+    @Bean
+    public static RepositoryCallerPostProcessor repositoryCallerPostProcessor() {
+        return new RepositoryCallerPostProcessor();
+    }
+
+    @Bean
+    public QueryShapeRegistry queryShapeRegistry(
+            @Value("${mongo.observability.max-shapes:1000}") int maxShapes) {
+        return new QueryShapeRegistry(maxShapes);
+    }
+
+    @Bean
+    public MongoCommandMetricsListener mongoCommandMetricsListener(
+            MeterRegistry meterRegistry,
+            QueryShapeRegistry queryShapeRegistry,
+            @Value("${mongo.observability.slow-threshold-ms:100}") long slowThresholdMs,
+            @Value("${mongo.observability.caller-stack-walk:true}") boolean callerStackWalk) {
+        return new MongoCommandMetricsListener(meterRegistry, queryShapeRegistry, Duration.ofMillis(slowThresholdMs),
+                callerStackWalk);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandMetricsCustomizer(MongoCommandMetricsListener listener) {
+        return settings -> settings.addCommandListener(listener);
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(
+            QueryShapeRegistry queryShapeRegistry,
+            @Value("${mongo.observability.top-n:20}") int topN) {
+        return new SlowQueryEndpoint(queryShapeRegistry, topN);
+    }
+}
@@ -0,0 +1,88 @@
+package com.ecommerce.observability.mongo;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.Map;
+
+/**
+ * Reduces a command to its shape: field names and operators are kept, literal values become {@code ?},
+ * so the same query with different arguments collapses into one entry.
+ */
+final class QueryShape {
+
+    private QueryShape() {
+    }
+
+    static String of(String commandName, BsonDocument command) {
+        return switch (commandName) {
+            case "find" -> withSort(shape(command.get("filter")), command.get("sort"));
+            case "count", "distinct", "findAndModify" -> shape(command.get("query"));
+            case "update" -> shape(firstStatement(command, "updates", "q"));
+            case "delete" -> shape(firstStatement(command, "deletes", "q"));
+            case "aggregate" -> shape(command.get("pipeline"));
+            default -> "{}";
+        };
+    }
+
+    private static BsonValue firstStatement(BsonDocument command, String listField, String queryField) {
+        BsonValue statements = command.get(listField);
+        if (statements == null || !statements.isArray() || statements.asArray().isEmpty()) {
+            return null;
+        }
+        BsonValue first = statements.asArray().get(0);
+        return first.isDocument() ? first.asDocument().get(queryField) : null;
+    }
+
+    private static String withSort(String filterShape, BsonValue sort) {
+        return sort == null || !sort.isDocument() || sort.asDocument().isEmpty()
+                ? filterShape
+                : filterShape + " sort " + sort.asDocument().toJson();
+    }
+
+    private static String shape(BsonValue value) {
+        if (value == null) {
+            return "{}";
+        }
+        StringBuilder out = new StringBuilder();
+        append(value, out);
+        return out.toString();
+    }
+
+    private static void append(BsonValue value, StringBuilder out) {
+        if (value.isDocument()) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                if (!first) {
+                    out.append(", ");
+                }
+                first = false;
+                out.append(entry.getKey()).append(": ");
+                append(entry.getValue(), out);
+            }
+            out.append('}');
+        } else if (value.isArray()) {
+            appendArray(value.asArray(), out);
+        } else {
+            out.append('?');
+        }
+    }
+
+    private static void appendArray(BsonArray array, StringBuilder out) {
+        // Lists of literals ($in values) vary in length per call, so they shape to a single placeholder
+        if (array.stream().noneMatch(element -> element.isDocument() || element.isArray())) {
+            out.append("[?]");
+            return;
+        }
+        out.append('[');
+        for (int i = 0; i < array.size(); i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            append(array.get(i), out);
+        }
+        out.append(']');
+    }
+}
@@ -0,0 +1,81 @@
+package com.ecommerce.observability.mongo;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Aggregates latency per query shape. The number of distinct shapes is capped; once full, new shapes
+ * are dropped rather than letting the map grow with unbounded query variety.
+ */
+public class QueryShapeRegistry {
+
+    private final int maxShapes;
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+
+    public QueryShapeRegistry(int maxShapes) {
+        this.maxShapes = maxShapes;
+    }
+
+    void record(String command, String collection, String shape, String caller, long elapsedNanos) {
+        String key = command + " " + collection + " " + shape;
+        ShapeStats stats = shapes.get(key);
+        if (stats == null) {
+            if (shapes.size() >= maxShapes) {
+                return;
+            }
+            stats = shapes.computeIfAbsent(key, k -> new ShapeStats(command, collection, shape));
+        }
+        stats.record(caller, elapsedNanos);
+    }
+
+    public List<SlowQueryShape> slowest(int limit) {
+        return shapes.values().stream()
+                .sorted(Comparator.comparingLong((ShapeStats stats) -> stats.maxNanos.get()).reversed())
+                .limit(limit)
+                .map(ShapeStats::toShape)
+                .collect(Collectors.toList());
+    }
+
+    private static final class ShapeStats {
+
+        private final String command;
+        private final String collection;
+        private final String shape;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private volatile String slowestCaller;
+
+        private ShapeStats(String command, String collection, String shape) {
+            this.command = command;
+            this.collection = collection;
+            this.shape = shape;
+        }
+
+        private void record(String caller, long elapsedNanos) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            if (elapsedNanos > maxNanos.getAndAccumulate(elapsedNanos, Math::max)) {
+                slowestCaller = caller;
+            }
+        }
+
+        private SlowQueryShape toShape() {
+            long calls = count.sum();
+            return SlowQueryShape.builder()
+                    .command(command)
+                    .collection(collection)
+                    .shape(shape)
+                    .caller(slowestCaller)
+                    .count(calls)
+                    .maxMillis(maxNanos.get() / 1_000_000.0)
+                    .meanMillis(calls == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / calls)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.observability.mongo;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/slowqueries?limit=N}: the query shapes with the highest observed latency.
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private final QueryShapeRegistry queryShapeRegistry;
+    private final int defaultLimit;
+
+    public SlowQueryEndpoint(QueryShapeRegistry queryShapeRegistry, int defaultLimit) {
+        this.queryShapeRegistry = queryShapeRegistry;
+        this.defaultLimit = defaultLimit;
+    }
+
+    @ReadOperation
+    public List<SlowQueryShape> slowQueries(@Nullable Integer limit) {
+        return queryShapeRegistry.slowest(limit == null || limit < 1 ? defaultLimit : limit);
+    }
+}
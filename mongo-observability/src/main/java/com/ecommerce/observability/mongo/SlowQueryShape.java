@@ -0,0 +1,21 @@
+package com.ecommerce.observability.mongo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQueryShape {
+
+    private String command;
+    private String collection;
+    private String shape;
+    private String caller;
+    private long count;
+    private double maxMillis;
+    private double meanMillis;
+}
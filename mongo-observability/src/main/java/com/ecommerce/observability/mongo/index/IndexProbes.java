@@ -0,0 +1,45 @@
+package com.ecommerce.observability.mongo.index;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What a service asks {@link MongoIndexBootstrap} to check: the entities whose declared indexes are
+ * created at startup, and a filter shaped like each repository query, whose plan must use an index.
+ */
+public final class IndexProbes {
+
+    /**
+     * Placeholder value for probe filters; explain only plans the query, so it never has to match.
+     */
+    public static final String PROBE = "index-probe";
+
+    private final List<Class<?>> entities;
+    private final List<QueryProbe> queries = new ArrayList<>();
+
+    private IndexProbes(List<Class<?>> entities) {
+        this.entities = entities;
+    }
+
+    public static IndexProbes forEntities(Class<?>... entities) {
+        return new IndexProbes(List.of(entities));
+    }
+
+    public IndexProbes query(String queryName, Class<?> entityClass, Document filter) {
+        queries.add(new QueryProbe(queryName, entityClass, filter));
+        return this;
+    }
+
+    List<Class<?>> getEntities() {
+        return entities;
+    }
+
+    List<QueryProbe> getQueries() {
+        return queries;
+    }
+
+    record QueryProbe(String queryName, Class<?> entityClass, Document filter) {
+    }
+}
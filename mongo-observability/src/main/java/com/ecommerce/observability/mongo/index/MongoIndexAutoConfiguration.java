@@ -0,0 +1,28 @@
+package com.ecommerce.observability.mongo.index;
+
+import com.mongodb.client.MongoClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+
+@AutoConfiguration(after = MongoDataAutoConfiguration.class)
+@ConditionalOnClass(MongoClient.class)
+@ConditionalOnBean(IndexProbes.class)
+public class MongoIndexAutoConfiguration {
+
+    @Bean
+    public MongoIndexBootstrap mongoIndexBootstrap(
+            MongoTemplate mongoTemplate,
+            MongoMappingContext mongoMappingContext,
+            List<IndexProbes> probes,
+            @Value("${mongo.index-check.fail-on-collscan:false}") boolean failOnCollscan) {
+        return new MongoIndexBootstrap(mongoTemplate, mongoMappingContext, probes, failOnCollscan);
+    }
+}
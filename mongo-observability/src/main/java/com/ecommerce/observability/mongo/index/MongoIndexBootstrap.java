@@ -0,0 +1,82 @@
+package com.ecommerce.observability.mongo.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the indexes declared on each service's {@link IndexProbes} entities at startup, then explains
+ * each probe query and reports any that would still be planned as a collection scan.
+ */
+@Slf4j
+public class MongoIndexBootstrap implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mongoMappingContext;
+    private final List<IndexProbes> probes;
+    private final boolean failOnCollscan;
+
+    public MongoIndexBootstrap(MongoTemplate mongoTemplate, MongoMappingContext mongoMappingContext,
+                               List<IndexProbes> probes, boolean failOnCollscan) {
+        this.mongoTemplate = mongoTemplate;
+        this.mongoMappingContext = mongoMappingContext;
+        this.probes = probes;
+        this.failOnCollscan = failOnCollscan;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        probes.forEach(probe -> probe.getEntities().forEach(this::ensureIndexes));
+
+        List<String> scans = new ArrayList<>();
+        probes.forEach(probe -> probe.getQueries().forEach(query -> checkPlan(query, scans)));
+
+        if (scans.isEmpty()) {
+            return;
+        }
+        String message = "Queries planned as collection scans: " + String.join(", ", scans);
+        if (failOnCollscan) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    private void ensureIndexes(Class<?> entityClass) {
+        IndexOperations indexOps = mongoTemplate.indexOps(entityClass);
+        new MongoPersistentEntityIndexResolver(mongoMappingContext).resolveIndexFor(entityClass)
+                .forEach(indexOps::ensureIndex);
+    }
+
+    private void checkPlan(IndexProbes.QueryProbe query, List<String> scans) {
+        Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(query.entityClass()))
+                .find(query.filter()).explain();
+        Document queryPlanner = explain.get("queryPlanner", Document.class);
+        Object winningPlan = queryPlanner == null ? null : queryPlanner.get("winningPlan");
+        if (containsStage(winningPlan, "COLLSCAN")) {
+            scans.add(query.queryName());
+        } else {
+            log.info("Query plan for {} uses an index", query.queryName());
+        }
+    }
+
+    static boolean containsStage(Object plan, String stage) {
+        if (plan instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (plan instanceof List<?> list) {
+            return list.stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+}
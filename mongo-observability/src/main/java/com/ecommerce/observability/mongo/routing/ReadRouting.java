@@ -0,0 +1,47 @@
+package com.ecommerce.observability.mongo.routing;
+
+import com.mongodb.ReadPreference;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the read preference chosen for the current request thread; absent means the primary.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<ReadPreference> CURRENT = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    public static ReadPreference current() {
+        return CURRENT.get();
+    }
+
+    public static boolean isSecondary() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Runs a read against the primary even inside a request routed to secondaries.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        ReadPreference previous = CURRENT.get();
+        CURRENT.remove();
+        try {
+            return read.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    static void route(ReadPreference readPreference) {
+        CURRENT.set(readPreference);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
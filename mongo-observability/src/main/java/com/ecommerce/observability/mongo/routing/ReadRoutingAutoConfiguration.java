@@ -0,0 +1,37 @@
+package com.ecommerce.observability.mongo.routing;
+
+import com.mongodb.client.MongoClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ * Routes request reads to secondaries when {@code mongo.read-routing.secondary-reads} is on. Runs before
+ * the Mongo data auto-configuration so its routing template replaces the default one.
+ */
+@AutoConfiguration(before = MongoDataAutoConfiguration.class)
+@ConditionalOnClass(MongoClient.class)
+public class ReadRoutingAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(MongoOperations.class)
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory mongoDatabaseFactory, MongoConverter mongoConverter) {
+        return new ReadRoutingMongoTemplate(mongoDatabaseFactory, mongoConverter);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public ReadRoutingFilter readRoutingFilter(
+            @Value("${mongo.read-routing.secondary-reads:false}") boolean secondaryReads,
+            @Value("${mongo.read-routing.max-staleness-seconds:90}") long maxStalenessSeconds) {
+        return new ReadRoutingFilter(secondaryReads, maxStalenessSeconds);
+    }
+}
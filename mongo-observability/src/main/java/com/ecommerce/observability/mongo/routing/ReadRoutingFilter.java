@@ -0,0 +1,71 @@
+package com.ecommerce.observability.mongo.routing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import com.mongodb.ReadPreference;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends GET and HEAD requests to secondaries. Writes hand back an X-Read-After token; requests that
+ * echo a token younger than the staleness bound stay on the primary so writers see their own changes.
+ */
+public class ReadRoutingFilter extends OncePerRequestFilter {
+
+    public static final String READ_AFTER_HEADER = "X-Read-After";
+
+    private final boolean secondaryReads;
+    private final long maxStalenessSeconds;
+    private final ReadPreference secondaryReadPreference;
+
+    public ReadRoutingFilter(boolean secondaryReads, long maxStalenessSeconds) {
+        this.secondaryReads = secondaryReads;
+        this.maxStalenessSeconds = maxStalenessSeconds;
+        // secondaryPreferred falls back to the primary when no member is within the staleness bound
+        this.secondaryReadPreference = ReadPreference.secondaryPreferred(maxStalenessSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!secondaryReads) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            if (!"OPTIONS".equals(method)) {
+                response.setHeader(READ_AFTER_HEADER, String.valueOf(System.currentTimeMillis()));
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!recentlyWrote(request)) {
+            ReadRouting.route(secondaryReadPreference);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadRouting.clear();
+        }
+    }
+
+    private boolean recentlyWrote(HttpServletRequest request) {
+        String token = request.getHeader(READ_AFTER_HEADER);
+        if (token == null) {
+            return false;
+        }
+        try {
+            long age = System.currentTimeMillis() - Long.parseLong(token.trim());
+            return age < maxStalenessSeconds * 1000;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+}
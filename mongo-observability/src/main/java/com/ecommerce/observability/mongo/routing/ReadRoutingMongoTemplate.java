@@ -0,0 +1,25 @@
+package com.ecommerce.observability.mongo.routing;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ * Applies the per-request read preference to every collection access. Writes always go to the primary.
+ */
+public class ReadRoutingMongoTemplate extends MongoTemplate {
+
+    public ReadRoutingMongoTemplate(MongoDatabaseFactory mongoDbFactory, MongoConverter mongoConverter) {
+        super(mongoDbFactory, mongoConverter);
+    }
+
+    @Override
+    protected MongoCollection<Document> prepareCollection(MongoCollection<Document> collection) {
+        MongoCollection<Document> prepared = super.prepareCollection(collection);
+        ReadPreference routed = ReadRouting.current();
+        return routed == null ? prepared : prepared.withReadPreference(routed);
+    }
+}
@@ -0,0 +1,69 @@
+package com.ecommerce.product.client;
+
+import com.ecommerce.product.dto.MediaResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@Slf4j
+public class MediaServiceClient {
+
+    private static final TypeReference<List<MediaResponse>> MEDIA_LIST = new TypeReference<>() {
+    };
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final Duration timeout;
+
+    public MediaServiceClient(ObjectMapper objectMapper,
+                              @Value("${media-service.url}") String baseUrl,
+                              @Value("${media-service.timeout-ms}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(this.timeout)
+                .build();
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public CompletableFuture<List<MediaResponse>> getMediaByProductId(String productId) {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/api/media/product/" + URLEncoder.encode(productId, StandardCharsets.UTF_8)))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("media-service responded with status " + response.statusCode());
+                    }
+                    try {
+                        return objectMapper.readValue(response.body(), MEDIA_LIST);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.product.config;
+
+import com.ecommerce.product.dto.ProductResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    @Value("${product.cache.max-size}")
+    private long maxSize;
+
+    @Value("${product.cache.ttl-seconds}")
+    private long ttlSeconds;
+
+    @Bean
+    public Cache<String, ProductResponse> productCache(MeterRegistry meterRegistry) {
+        Cache<String, ProductResponse> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        // Publishes cache.gets{result=hit|miss}, cache.evictions and cache.size under cache=products
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "products");
+    }
+}
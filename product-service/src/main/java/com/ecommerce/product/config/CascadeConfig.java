@@ -0,0 +1,33 @@
+package com.ecommerce.product.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@Getter
+public class CascadeConfig {
+
+    @Value("${product.cascade.chunk-size}")
+    private int chunkSize;
+
+    @Value("${product.cascade.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${product.cascade.lease-seconds}")
+    private long leaseSeconds;
+
+    @Bean
+    public ThreadPoolTaskExecutor cascadeTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("product-cascade-");
+        // A rejected cascade is already persisted; its lease expires and the resume sweep picks it up
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.product.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@Getter
+public class ImportConfig {
+
+    @Value("${product.import.chunk-size}")
+    private int chunkSize;
+
+    @Value("${product.import.workers}")
+    private int workers;
+
+    @Value("${product.import.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${product.import.lease-seconds}")
+    private long leaseSeconds;
+
+    @Bean
+    public ThreadPoolTaskExecutor importTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("product-import-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.product.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Getter
+public class InventoryConfig {
+
+    @Value("${product.inventory.block-size}")
+    private int blockSize;
+
+    @Value("${product.inventory.hot-threshold-per-second}")
+    private int hotThresholdPerSecond;
+
+    @Value("${product.inventory.idle-seconds}")
+    private long idleSeconds;
+
+    @Value("${product.inventory.stripes}")
+    private int stripes;
+
+    @Value("${product.inventory.hold-lease-seconds}")
+    private long holdLeaseSeconds;
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.product.config;
+
+import com.ecommerce.observability.mongo.index.IndexProbes;
+import com.ecommerce.product.model.Product;
+import org.bson.Document;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MongoIndexConfig {
+
+    @Bean
+    public IndexProbes productIndexProbes() {
+        return IndexProbes.forEntities(Product.class)
+                .query("ProductRepository.findByUserId", Product.class, new Document("userId", IndexProbes.PROBE));
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.product.dto.ImportJobResponse;
+import com.ecommerce.product.service.ImportJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/api/products/imports")
+@RequiredArgsConstructor
+public class ImportJobController {
+
+    private final ImportJobService importJobService;
+
+    @PostMapping
+    public ResponseEntity<ImportJobResponse> submitImport(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            HttpServletRequest httpRequest) {
+        String userId = (String) httpRequest.getAttribute("X-User-Id");
+        String userRole = (String) httpRequest.getAttribute("X-User-Role");
+        ImportJobResponse response = importJobService.submitImport(file, format, userId, userRole);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobResponse> getImportJob(
+            @PathVariable String jobId,
+            HttpServletRequest httpRequest) {
+        String userId = (String) httpRequest.getAttribute("X-User-Id");
+        ImportJobResponse response = importJobService.getImportJob(jobId, userId);
+        return ResponseEntity.ok(response);
+    }
+}
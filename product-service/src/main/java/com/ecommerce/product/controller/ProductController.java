@@ -1,16 +1,31 @@
 package com.ecommerce.product.controller;
 
+import com.ecommerce.product.dto.BulkCreateProductResponse;
 import com.ecommerce.product.dto.CreateProductRequest;
+import com.ecommerce.product.dto.ProductDetailResponse;
+import com.ecommerce.product.dto.ProductFilterRequest;
+import com.ecommerce.product.dto.ProductLookupResult;
+import com.ecommerce.product.dto.ProductPageResponse;
 import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.product.dto.ReservationRequest;
+import com.ecommerce.product.dto.ReservationResponse;
 import com.ecommerce.product.dto.UpdateProductRequest;
+import com.ecommerce.product.service.InventoryService;
+import com.ecommerce.product.service.ProductDetailService;
+import com.ecommerce.product.service.ProductExportService;
+import com.ecommerce.product.service.ProductQueryService;
+import com.ecommerce.product.service.ProductSearchService;
 import com.ecommerce.product.service.ProductService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -19,6 +34,11 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductExportService productExportService;
+    private final ProductSearchService productSearchService;
+    private final ProductQueryService productQueryService;
+    private final InventoryService inventoryService;
+    private final ProductDetailService productDetailService;
 
     @PostMapping
     public ResponseEntity<ProductResponse> createProduct(
@@ -30,42 +50,131 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreateProductResponse> createProducts(
+            @RequestBody List<CreateProductRequest> requests,
+            HttpServletRequest httpRequest) {
+        String userId = (String) httpRequest.getAttribute("X-User-Id");
+        String userRole = (String) httpRequest.getAttribute("X-User-Role");
+        BulkCreateProductResponse response = productService.createProducts(requests, userId, userRole);
+        HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+
     @GetMapping("/{productId}")
     public ResponseEntity<ProductResponse> getProductById(@PathVariable String productId) {
         ProductResponse response = productService.getProductById(productId);
+        return ResponseEntity.ok().eTag(ProductETags.forProduct(response)).body(response);
+    }
+
+    @GetMapping("/{productId}/details")
+    public ResponseEntity<ProductDetailResponse> getProductDetails(@PathVariable String productId) {
+        ProductDetailResponse response = productDetailService.getProductDetails(productId);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping
-    public ResponseEntity<List<ProductResponse>> getAllProducts() {
-        List<ProductResponse> products = productService.getAllProducts();
+    public ResponseEntity<ProductPageResponse> getAllProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String eTag = ProductETags.forPage(productService.getAllProductVersions(cursor, limit, fields, view),
+                    fields, view);
+            if (ProductETags.matchesNoneMatch(ifNoneMatch, eTag)) {
+                return notModified(eTag);
+            }
+        }
+        ProductPageResponse page = productService.getAllProducts(cursor, limit, fields, view);
+        return ResponseEntity.ok().eTag(ProductETags.forPage(page, fields, view)).body(page);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<ProductLookupResult>> getProductsByIds(@RequestParam List<String> ids) {
+        List<ProductLookupResult> results = productService.getProductsByIds(ids);
+        return ResponseEntity.ok(results);
+    }
+
+    @GetMapping("/query")
+    public ResponseEntity<ProductPageResponse> queryProducts(
+            @Valid ProductFilterRequest filter,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String eTag = ProductETags.forPage(productQueryService.queryProductVersions(filter),
+                    filter.getFields(), filter.getView());
+            if (ProductETags.matchesNoneMatch(ifNoneMatch, eTag)) {
+                return notModified(eTag);
+            }
+        }
+        ProductPageResponse page = productQueryService.queryProducts(filter);
+        return ResponseEntity.ok().eTag(ProductETags.forPage(page, filter.getFields(), filter.getView())).body(page);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductResponse>> searchProducts(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit) {
+        List<ProductResponse> products = productSearchService.searchProducts(query, limit);
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggestProducts(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        List<String> suggestions = productSearchService.suggestProducts(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @GetMapping("/export")
+    public void exportProducts(
+            @RequestParam(required = false) Integer batchSize,
+            HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        productExportService.exportProducts(response.getOutputStream(), batchSize);
+    }
+
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<ProductResponse>> getProductsByUserId(@PathVariable String userId) {
-        List<ProductResponse> products = productService.getProductsByUserId(userId);
-        return ResponseEntity.ok(products);
+    public ResponseEntity<List<ProductResponse>> getProductsByUserId(
+            @PathVariable String userId,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String eTag = ProductETags.forProducts(productService.getProductVersionsByUserId(userId, fields, view),
+                    fields, view);
+            if (ProductETags.matchesNoneMatch(ifNoneMatch, eTag)) {
+                return notModified(eTag);
+            }
+        }
+        List<ProductResponse> products = productService.getProductsByUserId(userId, fields, view);
+        return ResponseEntity.ok().eTag(ProductETags.forProducts(products, fields, view)).body(products);
     }
 
     @PutMapping("/{productId}")
     public ResponseEntity<ProductResponse> updateProduct(
             @PathVariable String productId,
             @Valid @RequestBody UpdateProductRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             HttpServletRequest httpRequest) {
         String userId = (String) httpRequest.getAttribute("X-User-Id");
         String userRole = (String) httpRequest.getAttribute("X-User-Role");
-        ProductResponse response = productService.updateProduct(productId, request, userId, userRole);
-        return ResponseEntity.ok(response);
+        ProductResponse response = productService.updateProduct(
+                productId, request, userId, userRole, ProductETags.expectedVersions(ifMatch));
+        return ResponseEntity.ok().eTag(ProductETags.forProduct(response)).body(response);
     }
 
     @DeleteMapping("/{productId}")
     public ResponseEntity<Void> deleteProduct(
             @PathVariable String productId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             HttpServletRequest httpRequest) {
         String userId = (String) httpRequest.getAttribute("X-User-Id");
         String userRole = (String) httpRequest.getAttribute("X-User-Role");
-        productService.deleteProduct(productId, userId, userRole);
+        productService.deleteProduct(productId, userId, userRole, ProductETags.expectedVersions(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -73,9 +182,10 @@ public class ProductController {
     public ResponseEntity<Void> addImageToProduct(
             @PathVariable String productId,
             @PathVariable String imageId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             HttpServletRequest httpRequest) {
         String userId = (String) httpRequest.getAttribute("X-User-Id");
-        productService.addImageToProduct(productId, imageId, userId);
+        productService.addImageToProduct(productId, imageId, userId, ProductETags.expectedVersions(ifMatch));
         return ResponseEntity.ok().build();
     }
 
@@ -83,9 +193,39 @@ public class ProductController {
     public ResponseEntity<Void> removeImageFromProduct(
             @PathVariable String productId,
             @PathVariable String imageId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             HttpServletRequest httpRequest) {
         String userId = (String) httpRequest.getAttribute("X-User-Id");
-        productService.removeImageFromProduct(productId, imageId, userId);
+        productService.removeImageFromProduct(productId, imageId, userId, ProductETags.expectedVersions(ifMatch));
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/{productId}/reservations")
+    public ResponseEntity<ReservationResponse> reserveStock(
+            @PathVariable String productId,
+            @Valid @RequestBody ReservationRequest request,
+            HttpServletRequest httpRequest) {
+        String userId = (String) httpRequest.getAttribute("X-User-Id");
+        ReservationResponse response = inventoryService.reserve(productId, request.getQuantity(), userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/{productId}/reservations/release")
+    public ResponseEntity<Void> releaseStock(
+            @PathVariable String productId,
+            @Valid @RequestBody ReservationRequest request,
+            HttpServletRequest httpRequest) {
+        String userId = (String) httpRequest.getAttribute("X-User-Id");
+        String userRole = (String) httpRequest.getAttribute("X-User-Role");
+        inventoryService.release(productId, request.getQuantity(), userId, userRole);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Answers a conditional list read whose validator was derived from an ids-and-versions probe,
+     * before any full document was loaded or mapped.
+     */
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
 }
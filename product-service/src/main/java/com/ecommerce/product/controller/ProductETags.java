@@ -0,0 +1,97 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.product.dto.ProductPageResponse;
+import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.product.exception.InvalidQueryException;
+import com.ecommerce.product.exception.PreconditionFailedException;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+final class ProductETags {
+
+    private ProductETags() {
+    }
+
+    static String forProduct(ProductResponse product) {
+        return "\"" + versionOf(product) + "\"";
+    }
+
+    static String forProducts(List<ProductResponse> products, String fields, String view) {
+        return "\"" + digest(products, null, fields, view) + "\"";
+    }
+
+    static String forPage(ProductPageResponse page, String fields, String view) {
+        return "\"" + digest(page.getItems(), page.getNextCursor(), fields, view) + "\"";
+    }
+
+    /**
+     * Returns the product versions an If-Match header accepts, or null when any version is acceptable.
+     */
+    static List<Long> expectedVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String tag : entityTags(ifMatch)) {
+            // If-Match uses strong comparison (RFC 9110 13.1.1), so a weak validator never matches
+            if (tag.startsWith("W/")) {
+                continue;
+            }
+            try {
+                versions.add(Long.valueOf(tag.replace("\"", "")));
+            } catch (NumberFormatException ex) {
+                throw new InvalidQueryException("Invalid If-Match header: " + ifMatch);
+            }
+        }
+        if (versions.isEmpty()) {
+            throw new PreconditionFailedException("If-Match requires a strong entity tag");
+        }
+        return versions;
+    }
+
+    /**
+     * Whether an If-None-Match header already holds the given entity tag. If-None-Match uses weak
+     * comparison (RFC 9110 13.1.2), so a W/ prefix on either side is ignored.
+     */
+    static boolean matchesNoneMatch(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        if ("*".equals(ifNoneMatch.trim())) {
+            return true;
+        }
+        String opaque = stripWeak(eTag);
+        return entityTags(ifNoneMatch).stream().anyMatch(tag -> stripWeak(tag).equals(opaque));
+    }
+
+    private static List<String> entityTags(String header) {
+        return Arrays.stream(header.split(","))
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty())
+                .toList();
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static long versionOf(ProductResponse product) {
+        return product.getVersion() == null ? 0L : product.getVersion();
+    }
+
+    private static String digest(List<ProductResponse> products, String nextCursor, String fields, String view) {
+        // Different field selections are different representations of the same products
+        StringBuilder state = new StringBuilder().append(fields).append('|').append(view).append('|');
+        for (ProductResponse product : products) {
+            state.append(product.getId()).append(':').append(versionOf(product)).append(';');
+        }
+        if (nextCursor != null) {
+            state.append(nextCursor);
+        }
+        return DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
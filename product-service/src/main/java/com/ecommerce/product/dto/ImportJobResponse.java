@@ -0,0 +1,28 @@
+package com.ecommerce.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobResponse {
+
+    private String id;
+    private String fileName;
+    private String format;
+    private String status;
+    private long linesProcessed;
+    private long createdCount;
+    private long failedCount;
+    private List<String> errors;
+    private String failureReason;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,41 @@
+package com.ecommerce.product.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilterRequest {
+
+    private String sellerId;
+
+    @DecimalMin(value = "0.0", message = "Minimum price cannot be negative")
+    private Double minPrice;
+
+    @DecimalMin(value = "0.0", message = "Maximum price cannot be negative")
+    private Double maxPrice;
+
+    private Boolean inStock;
+
+    @Pattern(regexp = "price|createdAt", message = "Sort must be one of: price, createdAt")
+    private String sort;
+
+    @Pattern(regexp = "asc|desc", message = "Direction must be one of: asc, desc")
+    private String direction;
+
+    private String cursor;
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    private Integer limit;
+
+    private String fields;
+
+    private String view;
+}
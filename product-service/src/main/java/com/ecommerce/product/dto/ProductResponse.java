@@ -1,5 +1,6 @@
 package com.ecommerce.product.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,6 +13,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ProductResponse {
 
     private String id;
@@ -21,6 +23,8 @@ public class ProductResponse {
     private Integer quantity;
     private String userId;
     private List<String> imageIds;
+    private List<String> imagePaths;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
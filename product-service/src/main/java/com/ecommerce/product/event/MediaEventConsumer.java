@@ -0,0 +1,28 @@
+package com.ecommerce.product.event;
+
+import com.ecommerce.product.service.ProductService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MediaEventConsumer {
+
+    private final ProductService productService;
+
+    @KafkaListener(topics = "media-events", groupId = "product-service-group",
+            containerFactory = "mediaEventListenerContainerFactory")
+    public void handleMediaEvent(MediaEvent event) {
+        log.info("Received media event: {}", event.getEventType());
+
+        if ("MEDIA_UPLOADED".equals(event.getEventType())) {
+            productService.attachMedia(event.getProductId(), event.getMediaId(), event.getImagePath(),
+                    event.getUploadedBy());
+        } else if ("MEDIA_DELETED".equals(event.getEventType())) {
+            productService.detachMedia(event.getProductId(), event.getMediaId(), event.getUploadedBy());
+        }
+    }
+}
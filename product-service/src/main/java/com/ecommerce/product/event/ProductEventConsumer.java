@@ -0,0 +1,37 @@
+package com.ecommerce.product.event;
+
+import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.product.service.ProductSearchService;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductEventConsumer {
+
+    private final Cache<String, ProductResponse> productCache;
+    private final ProductSearchService productSearchService;
+
+    // Every replica joins its own consumer group so each one sees every change. The group is named after the
+    // instance, not the process, so a restart resumes from its committed offsets instead of orphaning a group
+    @KafkaListener(topics = "product-events", groupId = "product-service-cache-${product.cache.instance-id}")
+    public void handleProductEvent(ProductEvent event) {
+        switch (event.getEventType()) {
+            case "PRODUCT_CREATED" -> productSearchService.refreshProduct(event.getProductId());
+            case "PRODUCT_UPDATED" -> {
+                log.debug("Evicting cached product: {}", event.getProductId());
+                productCache.invalidate(event.getProductId());
+                productSearchService.refreshProduct(event.getProductId());
+            }
+            case "PRODUCT_DELETED" -> {
+                productCache.invalidate(event.getProductId());
+                productSearchService.removeProduct(event.getProductId());
+            }
+            default -> log.debug("Ignoring product event: {}", event.getEventType());
+        }
+    }
+}
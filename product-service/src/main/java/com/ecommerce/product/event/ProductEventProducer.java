@@ -1,10 +1,14 @@
 package com.ecommerce.product.event;
 
+import com.ecommerce.product.model.Product;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -26,6 +30,34 @@ public class ProductEventProducer {
         log.info("Published PRODUCT_CREATED event for product: {}", productId);
     }
 
+    public void publishProductCreatedEvents(List<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        products.forEach(product -> kafkaTemplate.send(PRODUCT_TOPIC, product.getId(), ProductEvent.builder()
+                .eventType("PRODUCT_CREATED")
+                .productId(product.getId())
+                .userId(product.getUserId())
+                .productName(product.getName())
+                .build()));
+
+        // Sends above only append to the producer's batches; flush once to push them out together
+        kafkaTemplate.flush();
+        log.info("Published {} PRODUCT_CREATED events", products.size());
+    }
+
+    public void publishProductUpdatedEvent(String productId, String userId, String productName) {
+        ProductEvent event = ProductEvent.builder()
+                .eventType("PRODUCT_UPDATED")
+                .productId(productId)
+                .userId(userId)
+                .productName(productName)
+                .build();
+
+        kafkaTemplate.send(PRODUCT_TOPIC, productId, event);
+        log.info("Published PRODUCT_UPDATED event for product: {}", productId);
+    }
+
     public void publishProductDeletedEvent(String productId, String userId) {
         ProductEvent event = ProductEvent.builder()
                 .eventType("PRODUCT_DELETED")
@@ -36,4 +68,23 @@ public class ProductEventProducer {
         kafkaTemplate.send(PRODUCT_TOPIC, productId, event);
         log.info("Published PRODUCT_DELETED event for product: {}", productId);
     }
+
+    public void publishProductDeletedEvents(String userId, List<String> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        // Keyed by seller so a cascade lands on one partition and consumers can drain it in batches
+        CompletableFuture<?>[] sends = productIds.stream()
+                .map(productId -> kafkaTemplate.send(PRODUCT_TOPIC, userId, ProductEvent.builder()
+                        .eventType("PRODUCT_DELETED")
+                        .productId(productId)
+                        .userId(userId)
+                        .build()))
+                .toArray(CompletableFuture[]::new);
+
+        kafkaTemplate.flush();
+        // Callers delete the products only after every event is acknowledged
+        CompletableFuture.allOf(sends).join();
+        log.info("Published {} PRODUCT_DELETED events for user: {}", productIds.size(), userId);
+    }
 }
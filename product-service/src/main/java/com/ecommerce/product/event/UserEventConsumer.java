@@ -1,6 +1,6 @@
 package com.ecommerce.product.event;
 
-import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.ProductCascadeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -11,20 +11,15 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class UserEventConsumer {
 
-    private final ProductRepository productRepository;
+    private final ProductCascadeService productCascadeService;
 
-    @KafkaListener(topics = "user-events", groupId = "product-service-group")
+    @KafkaListener(topics = "user-events", groupId = "product-service-group",
+            containerFactory = "userEventListenerContainerFactory")
     public void handleUserEvent(UserEvent event) {
         log.info("Received user event: {}", event.getEventType());
 
         if ("USER_DELETED".equals(event.getEventType())) {
-            deleteProductsByUserId(event.getUserId());
+            productCascadeService.submitCascade(event.getUserId());
         }
     }
-
-    private void deleteProductsByUserId(String userId) {
-        log.info("Deleting all products for deleted user: {}", userId);
-        productRepository.findByUserId(userId).forEach(productRepository::delete);
-        log.info("Products deleted for user: {}", userId);
-    }
 }
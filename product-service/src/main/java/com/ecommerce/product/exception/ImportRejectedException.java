@@ -0,0 +1,8 @@
+package com.ecommerce.product.exception;
+
+public class ImportRejectedException extends RuntimeException {
+
+    public ImportRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.product.exception;
+
+public class InvalidQueryException extends RuntimeException {
+
+    public InvalidQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.product.mapper;
+
+import com.ecommerce.product.dto.ImportJobResponse;
+import com.ecommerce.product.model.ImportJob;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ImportJobMapper {
+
+    public ImportJobResponse toImportJobResponse(ImportJob job) {
+        return ImportJobResponse.builder()
+                .id(job.getId())
+                .fileName(job.getFileName())
+                .format(job.getFormat().name())
+                .status(job.getStatus().name())
+                .linesProcessed(job.getLinesProcessed())
+                .createdCount(job.getCreatedCount())
+                .failedCount(job.getFailedCount())
+                .errors(job.getErrors())
+                .failureReason(job.getFailureReason())
+                .createdAt(job.getCreatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
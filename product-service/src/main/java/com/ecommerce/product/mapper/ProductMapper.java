@@ -1,9 +1,17 @@
 package com.ecommerce.product.mapper;
 
+import com.ecommerce.product.dto.CreateProductRequest;
 import com.ecommerce.product.dto.ProductResponse;
 import com.ecommerce.product.model.Product;
+import com.ecommerce.product.model.ProductImage;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Component
 public class ProductMapper {
 
@@ -16,8 +24,69 @@ public class ProductMapper {
                 .quantity(product.getQuantity())
                 .userId(product.getUserId())
                 .imageIds(product.getImageIds())
+                .imagePaths(toImagePaths(product.getImages()))
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
+                .version(product.getVersion())
                 .build();
     }
+
+    public ProductResponse toProductResponse(Product product, Set<String> fields) {
+        if (fields == null) {
+            return toProductResponse(product);
+        }
+        ProductResponse.ProductResponseBuilder builder = ProductResponse.builder()
+                .id(product.getId())
+                .version(product.getVersion());
+        if (fields.contains("name")) {
+            builder.name(product.getName());
+        }
+        if (fields.contains("description")) {
+            builder.description(product.getDescription());
+        }
+        if (fields.contains("price")) {
+            builder.price(product.getPrice());
+        }
+        if (fields.contains("quantity")) {
+            builder.quantity(product.getQuantity());
+        }
+        if (fields.contains("userId")) {
+            builder.userId(product.getUserId());
+        }
+        if (fields.contains("imageIds")) {
+            builder.imageIds(product.getImageIds());
+        }
+        if (fields.contains("imagePaths")) {
+            builder.imagePaths(toImagePaths(product.getImages()));
+        }
+        if (fields.contains("createdAt")) {
+            builder.createdAt(product.getCreatedAt());
+        }
+        if (fields.contains("updatedAt")) {
+            builder.updatedAt(product.getUpdatedAt());
+        }
+        return builder.build();
+    }
+
+    public Product toProduct(CreateProductRequest request, String userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return Product.builder()
+                .name(request.getName())
+                .description(request.getDescription())
+                .price(request.getPrice())
+                .quantity(request.getQuantity())
+                .userId(userId)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    private List<String> toImagePaths(List<ProductImage> images) {
+        if (images == null) {
+            return Collections.emptyList();
+        }
+        return images.stream()
+                .map(ProductImage::getImagePath)
+                .collect(Collectors.toList());
+    }
 }
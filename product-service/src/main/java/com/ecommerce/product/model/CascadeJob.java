@@ -0,0 +1,41 @@
+package com.ecommerce.product.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deletion of a removed seller's products, keyed by the seller's user ID so a redelivered
+ * USER_DELETED event finds the job it already created.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "cascade_jobs")
+@CompoundIndex(name = "status_heartbeat_idx", def = "{'status': 1, 'heartbeatAt': 1}")
+public class CascadeJob {
+
+    @Id
+    private String userId;
+
+    private CascadeJobStatus status;
+
+    private long deletedCount;
+
+    private LocalDateTime createdAt;
+
+    private String leaseOwner;
+
+    private long leaseGeneration;
+
+    private LocalDateTime heartbeatAt;
+
+    private LocalDateTime completedAt;
+}
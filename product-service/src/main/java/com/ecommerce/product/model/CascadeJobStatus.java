@@ -0,0 +1,7 @@
+package com.ecommerce.product.model;
+
+public enum CascadeJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED
+}
@@ -0,0 +1,6 @@
+package com.ecommerce.product.model;
+
+public enum ImportFormat {
+    CSV,
+    JSONL
+}
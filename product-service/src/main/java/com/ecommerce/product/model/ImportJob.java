@@ -0,0 +1,56 @@
+package com.ecommerce.product.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "import_jobs")
+@CompoundIndex(name = "status_heartbeat_idx", def = "{'status': 1, 'heartbeatAt': 1}")
+public class ImportJob {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private String fileName;
+
+    private String storedFileId;
+
+    private ImportFormat format;
+
+    private ImportJobStatus status;
+
+    private long linesProcessed;
+
+    private long createdCount;
+
+    private long failedCount;
+
+    @Builder.Default
+    private List<String> errors = new ArrayList<>();
+
+    private String failureReason;
+
+    private LocalDateTime createdAt;
+
+    private String leaseOwner;
+
+    private long leaseGeneration;
+
+    private LocalDateTime heartbeatAt;
+
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.product.model;
+
+public enum ImportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
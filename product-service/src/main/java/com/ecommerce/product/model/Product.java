@@ -5,6 +5,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -16,6 +19,13 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "products")
+@CompoundIndexes({
+        @CompoundIndex(name = "seller_price_idx", def = "{'userId': 1, 'price': 1, '_id': 1}"),
+        @CompoundIndex(name = "seller_created_idx", def = "{'userId': 1, 'createdAt': 1, '_id': 1}"),
+        @CompoundIndex(name = "price_idx", def = "{'price': 1, '_id': 1}"),
+        @CompoundIndex(name = "created_idx", def = "{'createdAt': 1, '_id': 1}"),
+        @CompoundIndex(name = "hold_renewed_idx", def = "{'holds.renewedAt': 1}", sparse = true)
+})
 public class Product {
 
     @Id
@@ -34,7 +44,16 @@ public class Product {
     @Builder.Default
     private List<String> imageIds = new ArrayList<>();
 
+    @Builder.Default
+    private List<ProductImage> images = new ArrayList<>();
+
+    // Stock blocks taken out of quantity by instances serving this product as a hot SKU
+    private List<StockHold> holds;
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
 }
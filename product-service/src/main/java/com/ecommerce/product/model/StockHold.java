@@ -0,0 +1,25 @@
+package com.ecommerce.product.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Units one instance has taken out of {@code Product.quantity} and not yet reserved. The holder
+ * renews {@code renewedAt} while it runs; a hold that stops being renewed is handed back to quantity.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockHold {
+
+    private String token;
+
+    private long units;
+
+    private LocalDateTime renewedAt;
+}
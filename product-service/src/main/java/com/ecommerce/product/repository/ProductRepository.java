@@ -1,6 +1,7 @@
 package com.ecommerce.product.repository;
 
 import com.ecommerce.product.model.Product;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,5 +10,5 @@ import java.util.List;
 @Repository
 public interface ProductRepository extends MongoRepository<Product, String> {
 
-    List<Product> findByUserId(String userId);
+    List<Product> findByUserId(String userId, Sort sort);
 }
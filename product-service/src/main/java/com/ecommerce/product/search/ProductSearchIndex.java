@@ -0,0 +1,358 @@
+package com.ecommerce.product.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product name and description, scored with BM25.
+ * Replaced documents are tombstoned and the postings are compacted once dead entries
+ * outnumber live ones, which keeps updates O(terms) and compaction amortized.
+ * Queries walk the posting lists document-at-a-time into a primitive top-K heap, so
+ * scoring allocates nothing per matching document.
+ */
+@Component
+@Slf4j
+public class ProductSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 3;
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int COMPACTION_MIN_DEAD_DOCS = 1024;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "that", "the", "this", "to", "with");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, PostingList> postings = new HashMap<>();
+    private Map<String, Integer> docIdsByProduct = new HashMap<>();
+    private List<String> productIds = new ArrayList<>();
+    private int[] docLengths = new int[1024];
+    private PostingList[][] docPostings = new PostingList[1024][];
+    private BitSet liveDocs = new BitSet();
+    private long totalLength;
+
+    public void index(String productId, String name, String description) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int length = addTerms(termFrequencies, name, NAME_WEIGHT) + addTerms(termFrequencies, description, 1);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+
+            int docId = productIds.size();
+            productIds.add(productId);
+            if (docId == docLengths.length) {
+                docLengths = Arrays.copyOf(docLengths, docLengths.length * 2);
+                docPostings = Arrays.copyOf(docPostings, docPostings.length * 2);
+            }
+            docLengths[docId] = length;
+            liveDocs.set(docId);
+            totalLength += length;
+            docIdsByProduct.put(productId, docId);
+
+            PostingList[] lists = new PostingList[termFrequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+                PostingList list = postings.computeIfAbsent(entry.getKey(), t -> new PostingList());
+                list.add(docId, entry.getValue());
+                lists[i++] = list;
+            }
+            docPostings[docId] = lists;
+
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<String> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            int liveCount = docIdsByProduct.size();
+            if (liveCount == 0) {
+                return Collections.emptyList();
+            }
+            double averageLength = (double) totalLength / liveCount;
+
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list != null && list.liveCount > 0) {
+                    lists.add(list);
+                }
+            }
+            int termCount = lists.size();
+            double[] idfs = new double[termCount];
+            for (int t = 0; t < termCount; t++) {
+                int documentFrequency = lists.get(t).liveCount;
+                idfs[t] = Math.log(1 + (liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            }
+
+            // Posting lists are sorted by doc id, so each matching document is scored once across all terms
+            int[] cursors = new int[termCount];
+            TopK top = new TopK(limit);
+            while (true) {
+                int docId = Integer.MAX_VALUE;
+                for (int t = 0; t < termCount; t++) {
+                    PostingList list = lists.get(t);
+                    if (cursors[t] < list.size) {
+                        docId = Math.min(docId, list.docIds[cursors[t]]);
+                    }
+                }
+                if (docId == Integer.MAX_VALUE) {
+                    break;
+                }
+
+                boolean live = liveDocs.get(docId);
+                double norm = K1 * (1 - B + B * docLengths[docId] / averageLength);
+                double score = 0;
+                for (int t = 0; t < termCount; t++) {
+                    PostingList list = lists.get(t);
+                    if (cursors[t] < list.size && list.docIds[cursors[t]] == docId) {
+                        int frequency = list.frequencies[cursors[t]];
+                        score += idfs[t] * frequency * (K1 + 1) / (frequency + norm);
+                        cursors[t]++;
+                    }
+                }
+                if (live) {
+                    top.offer(docId, score);
+                }
+            }
+
+            int[] docIds = top.sortedDocIds();
+            List<String> results = new ArrayList<>(docIds.length);
+            for (int docId : docIds) {
+                results.add(productIds.get(docId));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdsByProduct.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() >= MIN_TOKEN_LENGTH && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private int addTerms(Map<String, Integer> termFrequencies, String text, int weight) {
+        List<String> tokens = tokenize(text);
+        tokens.forEach(token -> termFrequencies.merge(token, weight, Integer::sum));
+        return tokens.size() * weight;
+    }
+
+    private void removeLocked(String productId) {
+        Integer docId = docIdsByProduct.remove(productId);
+        if (docId != null) {
+            liveDocs.clear(docId);
+            totalLength -= docLengths[docId];
+            // Keeps document frequencies, and so IDF, exact while tombstones wait for compaction
+            for (PostingList list : docPostings[docId]) {
+                list.liveCount--;
+            }
+            docPostings[docId] = null;
+        }
+    }
+
+    private void compactIfNeeded() {
+        int liveCount = docIdsByProduct.size();
+        int deadCount = productIds.size() - liveCount;
+        if (deadCount < Math.max(COMPACTION_MIN_DEAD_DOCS, liveCount)) {
+            return;
+        }
+
+        int[] remap = new int[productIds.size()];
+        List<String> compactedIds = new ArrayList<>(liveCount);
+        int[] compactedLengths = new int[Math.max(1024, liveCount * 2)];
+        PostingList[][] compactedPostings = new PostingList[compactedLengths.length][];
+        Map<String, Integer> compactedDocIds = new HashMap<>(docIdsByProduct.size() * 2);
+        BitSet compactedLive = new BitSet(liveCount);
+
+        for (int docId = 0; docId < productIds.size(); docId++) {
+            if (liveDocs.get(docId)) {
+                int newId = compactedIds.size();
+                remap[docId] = newId;
+                compactedIds.add(productIds.get(docId));
+                compactedLengths[newId] = docLengths[docId];
+                compactedPostings[newId] = docPostings[docId];
+                compactedDocIds.put(productIds.get(docId), newId);
+                compactedLive.set(newId);
+            } else {
+                remap[docId] = -1;
+            }
+        }
+
+        Iterator<PostingList> lists = postings.values().iterator();
+        while (lists.hasNext()) {
+            PostingList list = lists.next();
+            list.retain(remap);
+            if (list.size == 0) {
+                lists.remove();
+            }
+        }
+
+        productIds = compactedIds;
+        docLengths = compactedLengths;
+        docPostings = compactedPostings;
+        docIdsByProduct = compactedDocIds;
+        liveDocs = compactedLive;
+        log.info("Compacted product search index: {} live, {} dead documents dropped", liveCount, deadCount);
+    }
+
+    private static final class PostingList {
+
+        private int[] docIds = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+        private int liveCount;
+
+        void add(int docId, int frequency) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docIds[size] = docId;
+            frequencies[size] = frequency;
+            size++;
+            liveCount++;
+        }
+
+        void retain(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int newId = remap[docIds[i]];
+                if (newId >= 0) {
+                    docIds[kept] = newId;
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (kept < docIds.length / 4) {
+                docIds = Arrays.copyOf(docIds, Math.max(4, kept));
+                frequencies = Arrays.copyOf(frequencies, Math.max(4, kept));
+            }
+        }
+    }
+
+    /**
+     * Bounded min-heap of (doc id, score) pairs kept in parallel primitive arrays.
+     */
+    private static final class TopK {
+
+        private final int[] docIds;
+        private final double[] scores;
+        private int size;
+
+        TopK(int capacity) {
+            docIds = new int[capacity];
+            scores = new double[capacity];
+        }
+
+        void offer(int docId, double score) {
+            if (size < docIds.length) {
+                docIds[size] = docId;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                docIds[0] = docId;
+                scores[0] = score;
+                siftDown(0, size);
+            }
+        }
+
+        int[] sortedDocIds() {
+            // Heap-sort in place: repeatedly move the lowest score behind the shrinking heap
+            for (int end = size - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+            return Arrays.copyOf(docIds, size);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (scores[parent] <= scores[index]) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index, int end) {
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < end && scores[left] < scores[smallest]) {
+                    smallest = left;
+                }
+                if (right < end && scores[right] < scores[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int docId = docIds[i];
+            docIds[i] = docIds[j];
+            docIds[j] = docId;
+            double score = scores[i];
+            scores[i] = scores[j];
+            scores[j] = score;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.ecommerce.product.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Radix tree over normalized product names. Each node caches the top {@link #TOP_K} names of
+ * its subtree by popularity, so a lookup is a walk down the prefix and an array copy.
+ * Views are counted outside the lock and folded into the tree in batches by {@link #flushViews()}.
+ */
+@Component
+public class ProductSuggestIndex {
+
+    public static final int TOP_K = 10;
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+    private static final Comparator<Suggestion> BY_POPULARITY =
+            Comparator.comparingLong(Suggestion::weight).reversed().thenComparing(s -> s.key);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("");
+    private final Map<String, String> keysByProduct = new HashMap<>();
+    private final ConcurrentHashMap<String, Long> pendingViews = new ConcurrentHashMap<>();
+
+    public void put(String productId, String name) {
+        String key = normalize(name);
+        if (key.isEmpty()) {
+            remove(productId);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            String text = name.trim();
+            String previousKey = keysByProduct.put(productId, key);
+            if (key.equals(previousKey)) {
+                // Same normalized name, but a case or spacing change is still a new display text
+                Node node = findPath(key, new ArrayList<>());
+                if (node != null && node.terminal != null) {
+                    node.terminal.text = text;
+                }
+                return;
+            }
+            if (previousKey != null) {
+                detach(previousKey);
+            }
+
+            List<Node> path = new ArrayList<>();
+            Node node = insertPath(key, path);
+            if (node.terminal == null) {
+                node.terminal = new Suggestion(key, text);
+            }
+            node.terminal.text = text;
+            node.terminal.productCount++;
+            recomputePath(path);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String productId) {
+        lock.writeLock().lock();
+        try {
+            String key = keysByProduct.remove(productId);
+            if (key != null) {
+                detach(key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void recordView(String productId) {
+        pendingViews.merge(productId, 1L, Long::sum);
+    }
+
+    /**
+     * Applies the views recorded since the last flush, recomputing each affected node once.
+     */
+    public void flushViews() {
+        Map<String, Long> views = new HashMap<>();
+        // Removing a key takes its count atomically; a view recorded afterwards starts a new count
+        for (String productId : pendingViews.keySet()) {
+            Long count = pendingViews.remove(productId);
+            if (count != null) {
+                views.put(productId, count);
+            }
+        }
+        if (views.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Deepest nodes first, so every parent merges the already updated top lists of its children
+            Map<Node, Integer> depths = new HashMap<>();
+            views.forEach((productId, count) -> {
+                String key = keysByProduct.get(productId);
+                if (key == null) {
+                    return;
+                }
+                List<Node> path = new ArrayList<>();
+                Node node = findPath(key, path);
+                if (node != null && node.terminal != null) {
+                    node.terminal.views += count;
+                    for (int i = 0; i < path.size(); i++) {
+                        depths.put(path.get(i), i);
+                    }
+                }
+            });
+            depths.entrySet().stream()
+                    .sorted(Map.Entry.<Node, Integer>comparingByValue().reversed())
+                    .forEach(entry -> entry.getKey().recomputeTop());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                Node child = node.child(key.charAt(i));
+                if (child == null) {
+                    return Collections.emptyList();
+                }
+                int common = commonPrefixLength(child.label, key, i);
+                if (i + common == key.length()) {
+                    node = child;
+                    break;
+                }
+                if (common < child.label.length()) {
+                    return Collections.emptyList();
+                }
+                node = child;
+                i += common;
+            }
+
+            int count = Math.min(limit, node.top.length);
+            List<String> results = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                results.add(node.top[j].text);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private void detach(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = findPath(key, path);
+        if (node == null || node.terminal == null) {
+            return;
+        }
+        if (--node.terminal.productCount == 0) {
+            node.terminal = null;
+            prune(path);
+        }
+        recomputePath(path);
+    }
+
+    private Node insertPath(String key, List<Node> path) {
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.addChild(child);
+                path.add(child);
+                return child;
+            }
+            int common = commonPrefixLength(child.label, key, i);
+            if (common < child.label.length()) {
+                Node split = new Node(child.label.substring(0, common));
+                node.replaceChild(split);
+                child.label = child.label.substring(common);
+                split.children = new Node[]{child};
+                split.top = child.top;
+                child = split;
+            }
+            node = child;
+            path.add(node);
+            i += common;
+        }
+        return node;
+    }
+
+    private Node findPath(String key, List<Node> path) {
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) {
+                return null;
+            }
+            node = child;
+            path.add(node);
+            i += child.label.length();
+        }
+        return node;
+    }
+
+    private void prune(List<Node> path) {
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            if (node.terminal != null || node.children.length > 0) {
+                return;
+            }
+            path.get(i - 1).removeChild(node);
+            path.remove(i);
+        }
+    }
+
+    private void recomputePath(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.get(i).recomputeTop();
+        }
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        private Suggestion terminal;
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            int index = indexOf(first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        void addChild(Node child) {
+            int insertAt = -indexOf(child.label.charAt(0)) - 1;
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, insertAt);
+            grown[insertAt] = child;
+            System.arraycopy(children, insertAt, grown, insertAt + 1, children.length - insertAt);
+            children = grown;
+        }
+
+        void replaceChild(Node child) {
+            children[indexOf(child.label.charAt(0))] = child;
+        }
+
+        void removeChild(Node child) {
+            int index = indexOf(child.label.charAt(0));
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, index);
+            System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+            children = shrunk;
+        }
+
+        void recomputeTop() {
+            List<Suggestion> candidates = new ArrayList<>();
+            if (terminal != null) {
+                candidates.add(terminal);
+            }
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(BY_POPULARITY);
+            top = candidates.subList(0, Math.min(TOP_K, candidates.size())).toArray(NO_SUGGESTIONS);
+        }
+
+        private int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].label.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+
+    private static final class Suggestion {
+
+        private final String key;
+        private String text;
+        private int productCount;
+        private long views;
+
+        Suggestion(String key, String text) {
+            this.key = key;
+            this.text = text;
+        }
+
+        long weight() {
+            return views + productCount;
+        }
+    }
+}
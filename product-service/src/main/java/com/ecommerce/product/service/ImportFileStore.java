@@ -0,0 +1,48 @@
+package com.ecommerce.product.service;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Keeps uploaded import files in GridFS, so a job resumed after a restart or on another replica
+ * can still read its file.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImportFileStore {
+
+    private final GridFsTemplate gridFsTemplate;
+
+    public String store(InputStream content, String fileName, String contentType) {
+        return gridFsTemplate.store(content, fileName, contentType).toHexString();
+    }
+
+    public InputStream open(String fileId) throws IOException {
+        GridFSFile file = gridFsTemplate.findOne(byId(fileId));
+        if (file == null) {
+            throw new IllegalStateException("Import file is missing: " + fileId);
+        }
+        return gridFsTemplate.getResource(file).getInputStream();
+    }
+
+    public void delete(String fileId) {
+        try {
+            gridFsTemplate.delete(byId(fileId));
+        } catch (RuntimeException ex) {
+            log.warn("Failed to delete import file: {}", fileId, ex);
+        }
+    }
+
+    private Query byId(String fileId) {
+        return Query.query(Criteria.where("_id").is(fileId));
+    }
+}
@@ -0,0 +1,253 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.config.ImportConfig;
+import com.ecommerce.product.dto.CreateProductRequest;
+import com.ecommerce.product.mapper.ProductMapper;
+import com.ecommerce.product.model.ImportFormat;
+import com.ecommerce.product.model.ImportJob;
+import com.ecommerce.product.model.ImportJobStatus;
+import com.ecommerce.product.model.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams an uploaded import file line by line and writes it in fixed-size chunks. Progress is
+ * checkpointed after every chunk and record IDs are derived from the job and line number, so a
+ * resumed job can replay its last chunk without creating duplicates. Every job write is conditional
+ * on the lease (owner and generation) the run was started with, and the run stops once it is lost.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImportJobRunner {
+
+    private static final int MAX_RECORDED_ERRORS = 100;
+    private static final List<String> CSV_COLUMNS = List.of("name", "description", "price", "quantity");
+
+    private final MongoTemplate mongoTemplate;
+    private final ProductBulkWriter productBulkWriter;
+    private final ImportFileStore importFileStore;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+    private final ImportConfig importConfig;
+
+    public void run(String jobId, String leaseOwner, long leaseGeneration) {
+        Query lease = leaseQuery(jobId, leaseOwner, leaseGeneration);
+        ImportJob job = mongoTemplate.findAndModify(
+                leaseQuery(jobId, leaseOwner, leaseGeneration).addCriteria(
+                        Criteria.where("status").in(ImportJobStatus.PENDING, ImportJobStatus.RUNNING)),
+                new Update().set("status", ImportJobStatus.RUNNING).set("heartbeatAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                ImportJob.class);
+        if (job == null) {
+            log.info("Import job {} is finished or leased elsewhere, skipping run", jobId);
+            return;
+        }
+
+        log.info("Running import job: {} from line {}", jobId, job.getLinesProcessed());
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(importFileStore.open(job.getStoredFileId()), StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = job.getFormat() == ImportFormat.CSV ? readCsvHeader(reader) : null;
+
+            for (long skipped = 0; skipped < job.getLinesProcessed(); skipped++) {
+                if (reader.readLine() == null) {
+                    break;
+                }
+            }
+
+            long line = job.getLinesProcessed();
+            while (true) {
+                List<Product> products = new ArrayList<>();
+                List<Long> productLines = new ArrayList<>();
+                List<String> errors = new ArrayList<>();
+                int consumed = 0;
+
+                String text;
+                while (consumed < importConfig.getChunkSize() && (text = reader.readLine()) != null) {
+                    consumed++;
+                    line++;
+                    if (text.isBlank()) {
+                        continue;
+                    }
+
+                    CreateProductRequest request = null;
+                    String error;
+                    try {
+                        request = parseRecord(text, job.getFormat(), columns);
+                        error = productBulkWriter.validate(request);
+                    } catch (IllegalArgumentException | JsonProcessingException ex) {
+                        error = "Malformed record: " + ex.getMessage();
+                    }
+                    if (error != null) {
+                        errors.add("Line " + line + ": " + error);
+                        continue;
+                    }
+
+                    Product product = productMapper.toProduct(request, job.getUserId());
+                    product.setId(recordId(jobId, line));
+                    products.add(product);
+                    productLines.add(line);
+                }
+
+                if (consumed == 0) {
+                    break;
+                }
+
+                if (!mongoTemplate.exists(lease, ImportJob.class)) {
+                    log.warn("Lost lease on import job {}, stopping at line {}", jobId, line - consumed);
+                    return;
+                }
+                Map<Integer, String> failures = productBulkWriter.insert(products, true);
+                failures.forEach((position, message) -> errors.add("Line " + productLines.get(position) + ": " + message));
+                if (!checkpoint(lease, consumed, products.size() - failures.size(), errors)) {
+                    log.warn("Lost lease on import job {}, stopping at line {}", jobId, line - consumed);
+                    return;
+                }
+            }
+
+            if (updateJob(lease, new Update()
+                    .set("status", ImportJobStatus.COMPLETED)
+                    .set("completedAt", LocalDateTime.now()))) {
+                log.info("Import job completed: {}", jobId);
+                importFileStore.delete(job.getStoredFileId());
+            }
+        } catch (Exception ex) {
+            log.error("Import job failed: {}", jobId, ex);
+            if (updateJob(lease, new Update()
+                    .set("status", ImportJobStatus.FAILED)
+                    .set("failureReason", ex.getMessage())
+                    .set("completedAt", LocalDateTime.now()))) {
+                importFileStore.delete(job.getStoredFileId());
+            }
+        }
+    }
+
+    public boolean renewLease(String jobId, String leaseOwner, long leaseGeneration) {
+        return updateJob(leaseQuery(jobId, leaseOwner, leaseGeneration).addCriteria(
+                        Criteria.where("status").in(ImportJobStatus.PENDING, ImportJobStatus.RUNNING)),
+                new Update().set("heartbeatAt", LocalDateTime.now()));
+    }
+
+    private Query leaseQuery(String jobId, String leaseOwner, long leaseGeneration) {
+        return Query.query(Criteria.where("_id").is(jobId)
+                .and("leaseOwner").is(leaseOwner)
+                .and("leaseGeneration").is(leaseGeneration));
+    }
+
+    private boolean checkpoint(Query lease, int consumed, int created, List<String> errors) {
+        Update update = new Update()
+                .inc("linesProcessed", consumed)
+                .inc("createdCount", created)
+                .inc("failedCount", errors.size())
+                .set("heartbeatAt", LocalDateTime.now());
+        if (!errors.isEmpty()) {
+            update.push("errors").slice(MAX_RECORDED_ERRORS).each(errors.toArray());
+        }
+        return updateJob(lease, update);
+    }
+
+    private boolean updateJob(Query lease, Update update) {
+        return mongoTemplate.updateFirst(lease, update, ImportJob.class).getMatchedCount() > 0;
+    }
+
+    private Map<String, Integer> readCsvHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        List<String> names = parseCsvLine(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : CSV_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + column);
+            }
+        }
+        return columns;
+    }
+
+    private CreateProductRequest parseRecord(String text, ImportFormat format, Map<String, Integer> columns)
+            throws JsonProcessingException {
+        if (format == ImportFormat.JSONL) {
+            return objectMapper.readValue(text, CreateProductRequest.class);
+        }
+
+        List<String> values = parseCsvLine(text);
+        if (values.size() < columns.size()) {
+            throw new IllegalArgumentException("expected " + columns.size() + " columns but found " + values.size());
+        }
+        return CreateProductRequest.builder()
+                .name(values.get(columns.get("name")))
+                .description(values.get(columns.get("description")))
+                .price(Double.valueOf(values.get(columns.get("price")).trim()))
+                .quantity(Integer.valueOf(values.get(columns.get("quantity")).trim()))
+                .build();
+    }
+
+    // RFC 4180 quoting within a single line; quoted fields may not span lines
+    private List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    // Job timestamp (4 bytes) + job counter (3 bytes) + line number (5 bytes)
+    private String recordId(String jobId, long line) {
+        byte[] jobBytes = new ObjectId(jobId).toByteArray();
+        ByteBuffer buffer = ByteBuffer.allocate(12);
+        buffer.put(jobBytes, 0, 4);
+        buffer.put(jobBytes, 9, 3);
+        buffer.put((byte) (line >>> 32));
+        buffer.putInt((int) line);
+        return new ObjectId(buffer.array()).toHexString();
+    }
+}
@@ -0,0 +1,184 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.config.ImportConfig;
+import com.ecommerce.product.dto.ImportJobResponse;
+import com.ecommerce.product.exception.ImportJobNotFoundException;
+import com.ecommerce.product.exception.ImportRejectedException;
+import com.ecommerce.product.exception.InvalidQueryException;
+import com.ecommerce.product.exception.InvalidRoleException;
+import com.ecommerce.product.exception.UnauthorizedAccessException;
+import com.ecommerce.product.mapper.ImportJobMapper;
+import com.ecommerce.product.model.ImportFormat;
+import com.ecommerce.product.model.ImportJob;
+import com.ecommerce.product.model.ImportJobStatus;
+import com.ecommerce.product.repository.ImportJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportJobService {
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobMapper importJobMapper;
+    private final ImportJobRunner importJobRunner;
+    private final ImportFileStore importFileStore;
+    private final ThreadPoolTaskExecutor importTaskExecutor;
+    private final MongoTemplate mongoTemplate;
+    private final ImportConfig importConfig;
+
+    // Identifies this instance as the holder of import job leases
+    private final String instanceId = UUID.randomUUID().toString();
+    // Jobs queued or running on this instance, mapped to the lease generation held for each
+    private final Map<String, Long> heldJobs = new ConcurrentHashMap<>();
+
+    public ImportJobResponse submitImport(MultipartFile file, String format, String userId, String userRole) {
+        log.info("Submitting product import for user: {}", userId);
+
+        if (!"SELLER".equals(userRole)) {
+            throw new InvalidRoleException("Only sellers can manage products");
+        }
+        if (file == null || file.isEmpty()) {
+            throw new InvalidQueryException("Import file is empty");
+        }
+        ImportFormat importFormat = resolveFormat(format, file.getOriginalFilename());
+
+        LocalDateTime now = LocalDateTime.now();
+        ImportJob job = importJobRepository.save(ImportJob.builder()
+                .userId(userId)
+                .fileName(file.getOriginalFilename())
+                .format(importFormat)
+                .status(ImportJobStatus.PENDING)
+                .leaseOwner(instanceId)
+                .leaseGeneration(1)
+                .createdAt(now)
+                .heartbeatAt(now)
+                .build());
+
+        job.setStoredFileId(storeFile(file, job.getId()));
+        job = importJobRepository.save(job);
+
+        try {
+            dispatch(job);
+        } catch (TaskRejectedException ex) {
+            job.setStatus(ImportJobStatus.FAILED);
+            job.setFailureReason("Import queue is full");
+            job.setCompletedAt(LocalDateTime.now());
+            importJobRepository.save(job);
+            importFileStore.delete(job.getStoredFileId());
+            throw new ImportRejectedException("Too many imports are running, please try again later");
+        }
+        return importJobMapper.toImportJobResponse(job);
+    }
+
+    public ImportJobResponse getImportJob(String jobId, String userId) {
+        ImportJob job = importJobRepository.findById(jobId)
+                .orElseThrow(() -> new ImportJobNotFoundException("Import job not found with ID: " + jobId));
+        if (!job.getUserId().equals(userId)) {
+            throw new UnauthorizedAccessException("You can only view your own import jobs");
+        }
+        return importJobMapper.toImportJobResponse(job);
+    }
+
+    // Keeps the leases of queued and running jobs alive independently of how long a chunk takes
+    @Scheduled(fixedDelayString = "${product.import.heartbeat-interval-ms:30000}")
+    public void renewLeases() {
+        heldJobs.forEach((jobId, generation) -> {
+            if (!importJobRunner.renewLease(jobId, instanceId, generation)) {
+                log.warn("Lost lease on import job: {}", jobId);
+                heldJobs.remove(jobId, generation);
+            }
+        });
+    }
+
+    // Claims jobs whose owner stopped heartbeating (crash or restart) and runs them from their checkpoint
+    @Scheduled(fixedDelayString = "${product.import.resume-interval-ms:60000}")
+    public void resumeStalledJobs() {
+        LocalDateTime staleBefore = LocalDateTime.now().minusSeconds(importConfig.getLeaseSeconds());
+        Query stalled = Query.query(Criteria.where("status").in(ImportJobStatus.PENDING, ImportJobStatus.RUNNING)
+                .and("heartbeatAt").lt(staleBefore)
+                .and("_id").nin(heldJobs.keySet()));
+
+        ImportJob job;
+        while ((job = mongoTemplate.findAndModify(stalled,
+                new Update().set("leaseOwner", instanceId)
+                        .inc("leaseGeneration", 1)
+                        .set("heartbeatAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                ImportJob.class)) != null) {
+            log.info("Resuming stalled import job: {} (lease generation {})", job.getId(), job.getLeaseGeneration());
+            try {
+                dispatch(job);
+            } catch (TaskRejectedException ex) {
+                // The claimed lease is not renewed, so the job becomes claimable again once it expires
+                log.warn("Import workers are saturated, job {} will be retried later", job.getId());
+                return;
+            }
+        }
+    }
+
+    private void dispatch(ImportJob job) {
+        String jobId = job.getId();
+        long generation = job.getLeaseGeneration();
+        heldJobs.put(jobId, generation);
+        try {
+            importTaskExecutor.execute(() -> {
+                try {
+                    importJobRunner.run(jobId, instanceId, generation);
+                } finally {
+                    heldJobs.remove(jobId, generation);
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            heldJobs.remove(jobId, generation);
+            throw ex;
+        }
+    }
+
+    private String storeFile(MultipartFile file, String jobId) {
+        try (InputStream content = file.getInputStream()) {
+            return importFileStore.store(content, jobId + ".import", file.getContentType());
+        } catch (IOException ex) {
+            importJobRepository.deleteById(jobId);
+            throw new IllegalStateException("Failed to store import file", ex);
+        }
+    }
+
+    private ImportFormat resolveFormat(String format, String fileName) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return ImportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new InvalidQueryException("Unsupported import format: " + format);
+            }
+        }
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return ImportFormat.CSV;
+        }
+        if (List.of(".jsonl", ".ndjson").stream().anyMatch(name::endsWith)) {
+            return ImportFormat.JSONL;
+        }
+        throw new InvalidQueryException("Cannot determine import format, pass format=csv or format=jsonl");
+    }
+}
@@ -0,0 +1,190 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.config.InventoryConfig;
+import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.product.dto.ReservationResponse;
+import com.ecommerce.product.exception.InsufficientStockException;
+import com.ecommerce.product.exception.InvalidRoleException;
+import com.ecommerce.product.exception.ProductNotFoundException;
+import com.ecommerce.product.exception.UnauthorizedAccessException;
+import com.ecommerce.product.model.Product;
+import com.ecommerce.product.model.StockHold;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reserves stock with conditional atomic decrements on {@code Product.quantity}. Products that
+ * receive more than the configured reservations per second are served from a {@link StripedStock}
+ * that moves stock a block at a time into a {@link StockHold} on the product, and hands the hold
+ * back once it goes idle. Reservations from a hold are acknowledged only after a group commit has
+ * written them to it, so a hold abandoned by a crashed instance can be returned to quantity exactly.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryService {
+
+    private final ProductStockStore productStockStore;
+    private final InventoryConfig inventoryConfig;
+    private final Cache<String, ProductResponse> productCache;
+    private final Map<String, StripedStock> hotStocks = new ConcurrentHashMap<>();
+    private final Cache<String, AtomicInteger> reservationRates = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(1))
+            .build();
+
+    public ReservationResponse reserve(String productId, int quantity, String userId) {
+        if (userId == null) {
+            throw new UnauthorizedAccessException("You must be signed in to reserve stock");
+        }
+
+        if (quantity <= inventoryConfig.getBlockSize()) {
+            StripedStock stock = hotStocks.get(productId);
+            if (stock == null && isHot(productId)) {
+                stock = hotStocks.computeIfAbsent(productId, id -> new StripedStock(inventoryConfig.getStripes()));
+            }
+            if (stock != null && reserveFromHotStock(productId, stock, quantity)) {
+                return reservation(productId, quantity);
+            }
+        }
+
+        reserveDirect(productId, quantity);
+        return reservation(productId, quantity);
+    }
+
+    public void release(String productId, int quantity, String userId, String userRole) {
+        log.info("Releasing {} units of product: {}", quantity, productId);
+
+        if (!"SELLER".equals(userRole)) {
+            throw new InvalidRoleException("Only sellers can manage products");
+        }
+        if (!productStockStore.restock(productId, userId, quantity)) {
+            throw productMissingOr(productId,
+                    new UnauthorizedAccessException("You can only modify your own products"));
+        }
+        productCache.invalidate(productId);
+    }
+
+    // Hands back idle holds and renews the rest, dropping fronts whose hold was revoked
+    @Scheduled(fixedDelayString = "${product.inventory.reconcile-interval-ms:5000}")
+    public void reconcileIdleStock() {
+        long idleNanos = TimeUnit.SECONDS.toNanos(inventoryConfig.getIdleSeconds());
+        hotStocks.forEach((productId, stock) -> {
+            if (stock.idleLongerThan(idleNanos)) {
+                retire(productId, stock);
+            } else if (stock.isHolding() && !productStockStore.renewHold(productId, stock.getToken())) {
+                log.info("Hold on product {} was revoked", productId);
+                retire(productId, stock);
+            }
+        });
+    }
+
+    // Returns holds whose instance stopped renewing them (crash, OOM kill) to quantity
+    @Scheduled(fixedDelayString = "${product.inventory.reclaim-interval-ms:30000}")
+    public void reclaimAbandonedHolds() {
+        LocalDateTime staleBefore = LocalDateTime.now().minusSeconds(inventoryConfig.getHoldLeaseSeconds());
+        for (Product product : productStockStore.findAbandonedHolds(staleBefore)) {
+            for (StockHold hold : product.getHolds()) {
+                if (hold.getRenewedAt() == null || !hold.getRenewedAt().isBefore(staleBefore)) {
+                    continue;
+                }
+                long returned = productStockStore.returnHold(product.getId(), hold.getToken(), staleBefore);
+                productCache.invalidate(product.getId());
+                log.warn("Reclaimed {} units abandoned in a hold on product: {}", returned, product.getId());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void returnAllStock() {
+        hotStocks.forEach(this::retire);
+    }
+
+    private boolean reserveFromHotStock(String productId, StripedStock stock, int quantity) {
+        if (!acquireHeld(productId, stock, quantity)) {
+            return false;
+        }
+        if (stock.commit(quantity, units -> productStockStore.commitHeld(productId, stock.getToken(), units))) {
+            return true;
+        }
+        // The hold is gone, e.g. a seller set the quantity or it was returned; reserve from Mongo instead
+        retire(productId, stock);
+        return false;
+    }
+
+    private boolean acquireHeld(String productId, StripedStock stock, int quantity) {
+        if (stock.tryAcquire(quantity)) {
+            return true;
+        }
+        synchronized (stock) {
+            while (!stock.isClosed()) {
+                if (stock.tryAcquire(quantity) || stock.tryAcquireConsolidated(quantity)) {
+                    return true;
+                }
+                long taken = productStockStore.takeBlock(productId, stock.getToken(), stock.isHolding(),
+                        inventoryConfig.getBlockSize());
+                if (taken == ProductStockStore.REVOKED) {
+                    retire(productId, stock);
+                    return false;
+                }
+                if (taken == 0) {
+                    throw productMissingOr(productId,
+                            new InsufficientStockException("Insufficient stock for product: " + productId));
+                }
+                productCache.invalidate(productId);
+                stock.add(taken);
+            }
+        }
+        // Reconciled while we waited; fall back to the direct path
+        return false;
+    }
+
+    private void reserveDirect(String productId, int quantity) {
+        if (!productStockStore.decrement(productId, quantity)) {
+            throw productMissingOr(productId,
+                    new InsufficientStockException("Insufficient stock for product: " + productId));
+        }
+        productCache.invalidate(productId);
+    }
+
+    private void retire(String productId, StripedStock stock) {
+        hotStocks.remove(productId, stock);
+        stock.close();
+        long returned = productStockStore.returnHold(productId, stock.getToken(), null);
+        if (returned > 0) {
+            productCache.invalidate(productId);
+            log.info("Returned {} held units of product: {}", returned, productId);
+        }
+    }
+
+    private boolean isHot(String productId) {
+        return reservationRates.get(productId, id -> new AtomicInteger()).incrementAndGet()
+                >= inventoryConfig.getHotThresholdPerSecond();
+    }
+
+    private RuntimeException productMissingOr(String productId, RuntimeException otherwise) {
+        if (!productStockStore.exists(productId)) {
+            return new ProductNotFoundException("Product not found with ID: " + productId);
+        }
+        return otherwise;
+    }
+
+    private ReservationResponse reservation(String productId, int quantity) {
+        return ReservationResponse.builder()
+                .productId(productId)
+                .quantity(quantity)
+                .status("RESERVED")
+                .build();
+    }
+}
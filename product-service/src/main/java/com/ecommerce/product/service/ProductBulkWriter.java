@@ -0,0 +1,89 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.CreateProductRequest;
+import com.ecommerce.product.event.ProductEventProducer;
+import com.ecommerce.product.model.Product;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductBulkWriter {
+
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final Validator validator;
+    private final ProductSearchService productSearchService;
+    private final ProductEventProducer productEventProducer;
+
+    public String validate(CreateProductRequest request) {
+        if (request == null) {
+            return "Product is required";
+        }
+        Set<ConstraintViolation<CreateProductRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Inserts products with pre-assigned IDs in one unordered bulk write, then indexes and
+     * announces the ones that were written. Returns write errors keyed by list position.
+     * With {@code duplicatesWritten} a duplicate-key error counts as already written, which
+     * makes replaying a chunk with the same IDs idempotent.
+     */
+    public Map<Integer, String> insert(List<Product> products, boolean duplicatesWritten) {
+        Map<Integer, String> failures = new HashMap<>();
+        if (products.isEmpty()) {
+            return failures;
+        }
+        // Bulk inserts bypass the repository, so seed the optimistic-lock version ourselves
+        products.stream()
+                .filter(product -> product.getVersion() == null)
+                .forEach(product -> product.setVersion(0L));
+
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class)
+                    .insert(products)
+                    .execute();
+        } catch (BulkOperationException ex) {
+            ex.getErrors().forEach(writeError -> {
+                if (!(duplicatesWritten && writeError.getCode() == DUPLICATE_KEY_ERROR)) {
+                    failures.put(writeError.getIndex(), writeError.getMessage());
+                }
+            });
+        }
+
+        List<Product> written = new ArrayList<>(products.size() - failures.size());
+        for (int position = 0; position < products.size(); position++) {
+            if (!failures.containsKey(position)) {
+                written.add(products.get(position));
+            }
+        }
+
+        written.forEach(productSearchService::indexProduct);
+        productEventProducer.publishProductCreatedEvents(written);
+
+        log.debug("Bulk inserted {} products, {} failed", written.size(), failures.size());
+        return failures;
+    }
+}
@@ -0,0 +1,104 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.config.CascadeConfig;
+import com.ecommerce.product.event.ProductEventProducer;
+import com.ecommerce.product.model.CascadeJob;
+import com.ecommerce.product.model.CascadeJobStatus;
+import com.ecommerce.product.model.Product;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deletes a seller's products in chunks. Each chunk's PRODUCT_DELETED events are acknowledged by Kafka
+ * before the chunk is removed, so a run that stops part-way leaves products to retry rather than media
+ * nobody will clean up. Progress is checkpointed on the job after every chunk, every job write is
+ * conditional on the lease (owner and generation) the run was started with, and the run stops once it
+ * is lost.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCascadeRunner {
+
+    private final MongoTemplate mongoTemplate;
+    private final ProductEventProducer productEventProducer;
+    private final CascadeConfig cascadeConfig;
+
+    public void run(String userId, String leaseOwner, long leaseGeneration) {
+        Query lease = leaseQuery(userId, leaseOwner, leaseGeneration);
+        CascadeJob job = mongoTemplate.findAndModify(
+                leaseQuery(userId, leaseOwner, leaseGeneration).addCriteria(
+                        Criteria.where("status").in(CascadeJobStatus.PENDING, CascadeJobStatus.RUNNING)),
+                new Update().set("status", CascadeJobStatus.RUNNING).set("heartbeatAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                CascadeJob.class);
+        if (job == null) {
+            log.info("Cascade for user {} is finished or leased elsewhere, skipping run", userId);
+            return;
+        }
+
+        log.info("Deleting products for deleted user: {} ({} already deleted)", userId, job.getDeletedCount());
+        long started = System.currentTimeMillis();
+
+        while (true) {
+            Query chunkQuery = Query.query(Criteria.where("userId").is(userId))
+                    .with(Sort.by(Sort.Direction.ASC, "_id"))
+                    .limit(cascadeConfig.getChunkSize());
+            chunkQuery.fields().include("_id");
+            List<String> productIds = mongoTemplate.find(chunkQuery, Product.class).stream()
+                    .map(Product::getId)
+                    .toList();
+            if (productIds.isEmpty()) {
+                break;
+            }
+
+            if (!mongoTemplate.exists(lease, CascadeJob.class)) {
+                log.warn("Lost lease on cascade for user {}, stopping", userId);
+                return;
+            }
+            productEventProducer.publishProductDeletedEvents(userId, productIds);
+            long deleted = mongoTemplate.remove(Query.query(Criteria.where("_id").in(productIds)
+                    .and("userId").is(userId)), Product.class).getDeletedCount();
+            if (!updateJob(lease, new Update().inc("deletedCount", deleted).set("heartbeatAt", LocalDateTime.now()))) {
+                log.warn("Lost lease on cascade for user {}, stopping", userId);
+                return;
+            }
+
+            if (productIds.size() < cascadeConfig.getChunkSize()) {
+                break;
+            }
+        }
+
+        if (updateJob(lease, new Update()
+                .set("status", CascadeJobStatus.COMPLETED)
+                .set("completedAt", LocalDateTime.now()))) {
+            log.info("Cascade for user {} completed in {} ms", userId, System.currentTimeMillis() - started);
+        }
+    }
+
+    public boolean renewLease(String userId, String leaseOwner, long leaseGeneration) {
+        return updateJob(leaseQuery(userId, leaseOwner, leaseGeneration).addCriteria(
+                        Criteria.where("status").in(CascadeJobStatus.PENDING, CascadeJobStatus.RUNNING)),
+                new Update().set("heartbeatAt", LocalDateTime.now()));
+    }
+
+    private Query leaseQuery(String userId, String leaseOwner, long leaseGeneration) {
+        return Query.query(Criteria.where("_id").is(userId)
+                .and("leaseOwner").is(leaseOwner)
+                .and("leaseGeneration").is(leaseGeneration));
+    }
+
+    private boolean updateJob(Query lease, Update update) {
+        return mongoTemplate.updateFirst(lease, update, CascadeJob.class).getMatchedCount() > 0;
+    }
+}
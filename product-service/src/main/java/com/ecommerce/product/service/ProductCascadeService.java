@@ -0,0 +1,124 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.config.CascadeConfig;
+import com.ecommerce.product.model.CascadeJob;
+import com.ecommerce.product.model.CascadeJobStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records a cascade job for each deleted seller and runs it on the cascade executor, so the user-events
+ * listener returns as soon as the job is persisted. Jobs are leased like import jobs: a job whose owner
+ * stops heartbeating is claimed by another instance and resumed where it stopped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCascadeService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ProductCascadeRunner productCascadeRunner;
+    private final ThreadPoolTaskExecutor cascadeTaskExecutor;
+    private final CascadeConfig cascadeConfig;
+
+    // Identifies this instance as the holder of cascade job leases
+    private final String instanceId = UUID.randomUUID().toString();
+    // Jobs queued or running on this instance, mapped to the lease generation held for each
+    private final Map<String, Long> heldJobs = new ConcurrentHashMap<>();
+
+    public void submitCascade(String userId) {
+        LocalDateTime now = LocalDateTime.now();
+        // Upserted by user ID: a redelivered event finds the existing job and leaves it to its owner
+        CascadeJob existing = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(userId)),
+                new Update().setOnInsert("status", CascadeJobStatus.PENDING)
+                        .setOnInsert("leaseOwner", instanceId)
+                        .setOnInsert("leaseGeneration", 1L)
+                        .setOnInsert("createdAt", now)
+                        .setOnInsert("heartbeatAt", now),
+                FindAndModifyOptions.options().upsert(true).returnNew(false),
+                CascadeJob.class);
+        if (existing != null) {
+            log.info("Cascade for user {} already recorded with status {}", userId, existing.getStatus());
+            return;
+        }
+
+        log.info("Recorded product cascade for deleted user: {}", userId);
+        try {
+            dispatch(userId, 1L);
+        } catch (TaskRejectedException ex) {
+            log.warn("Cascade queue is full, user {} will be picked up once its lease expires", userId);
+        }
+    }
+
+    // Keeps the leases of queued and running cascades alive independently of how long a chunk takes
+    @Scheduled(fixedDelayString = "${product.cascade.heartbeat-interval-ms:30000}")
+    public void renewLeases() {
+        heldJobs.forEach((userId, generation) -> {
+            if (!productCascadeRunner.renewLease(userId, instanceId, generation)) {
+                log.warn("Lost lease on cascade for user: {}", userId);
+                heldJobs.remove(userId, generation);
+            }
+        });
+    }
+
+    // Claims cascades whose owner stopped heartbeating (crash or restart) and resumes them
+    @Scheduled(fixedDelayString = "${product.cascade.resume-interval-ms:60000}")
+    public void resumeStalledJobs() {
+        LocalDateTime staleBefore = LocalDateTime.now().minusSeconds(cascadeConfig.getLeaseSeconds());
+        Query stalled = Query.query(Criteria.where("status").in(CascadeJobStatus.PENDING, CascadeJobStatus.RUNNING)
+                .and("heartbeatAt").lt(staleBefore)
+                .and("_id").nin(heldJobs.keySet()));
+
+        CascadeJob job;
+        while ((job = mongoTemplate.findAndModify(stalled,
+                new Update().set("leaseOwner", instanceId)
+                        .inc("leaseGeneration", 1)
+                        .set("heartbeatAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                CascadeJob.class)) != null) {
+            log.info("Resuming stalled cascade for user: {} (lease generation {})", job.getUserId(),
+                    job.getLeaseGeneration());
+            try {
+                dispatch(job.getUserId(), job.getLeaseGeneration());
+            } catch (TaskRejectedException ex) {
+                // The claimed lease is not renewed, so the job becomes claimable again once it expires
+                log.warn("Cascade worker is saturated, user {} will be retried later", job.getUserId());
+                return;
+            }
+        }
+    }
+
+    private void dispatch(String userId, long generation) {
+        heldJobs.put(userId, generation);
+        try {
+            cascadeTaskExecutor.execute(() -> {
+                try {
+                    productCascadeRunner.run(userId, instanceId, generation);
+                } catch (RuntimeException ex) {
+                    // Left RUNNING; once the lease lapses the resume sweep retries from the remaining products
+                    log.error("Cascade for user {} failed, it will be resumed", userId, ex);
+                } finally {
+                    heldJobs.remove(userId, generation);
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            heldJobs.remove(userId, generation);
+            throw ex;
+        }
+    }
+}
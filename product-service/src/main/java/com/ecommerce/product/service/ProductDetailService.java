@@ -0,0 +1,61 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.client.MediaServiceClient;
+import com.ecommerce.product.dto.MediaResponse;
+import com.ecommerce.product.dto.ProductDetailResponse;
+import com.ecommerce.product.dto.ProductResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductDetailService {
+
+    private final ProductService productService;
+    private final MediaServiceClient mediaServiceClient;
+
+    public ProductDetailResponse getProductDetails(String productId) {
+        log.info("Fetching product details with media for: {}", productId);
+
+        // Start the remote call first so it overlaps with the local product read
+        long deadline = System.nanoTime() + mediaServiceClient.getTimeout().toNanos();
+        CompletableFuture<List<MediaResponse>> media = mediaServiceClient.getMediaByProductId(productId);
+
+        ProductResponse product;
+        try {
+            product = productService.getProductById(productId);
+        } catch (RuntimeException ex) {
+            media.cancel(true);
+            throw ex;
+        }
+
+        List<MediaResponse> mediaItems = Collections.emptyList();
+        boolean mediaComplete = false;
+        try {
+            mediaItems = media.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            mediaComplete = true;
+        } catch (TimeoutException ex) {
+            media.cancel(true);
+            log.warn("media-service timed out for product: {}", productId);
+        } catch (ExecutionException ex) {
+            log.warn("media-service call failed for product: {}: {}", productId, ex.getCause().getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        return ProductDetailResponse.builder()
+                .product(product)
+                .media(mediaItems)
+                .mediaComplete(mediaComplete)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.exception.InvalidQueryException;
+import com.ecommerce.product.mapper.ProductMapper;
+import com.ecommerce.product.model.Product;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductExportService {
+
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 5000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+
+    public long exportProducts(OutputStream outputStream, Integer batchSize) throws IOException {
+        int cursorBatchSize = resolveBatchSize(batchSize);
+        log.info("Exporting product catalog with cursor batch size: {}", cursorBatchSize);
+
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .cursorBatchSize(cursorBatchSize);
+
+        // Flushing is driven per batch rather than per document
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long exported = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+             Stream<Product> products = mongoTemplate.stream(query, Product.class)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are separated by the explicit newline below, not Jackson's default " " between root values
+            generator.setRootValueSeparator(null);
+
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, productMapper.toProductResponse(iterator.next()));
+                generator.writeRaw('\n');
+                exported++;
+
+                // Blocking on the socket here stops the cursor from pulling the next batch
+                if (exported % cursorBatchSize == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+
+        log.info("Product catalog export finished: {} products", exported);
+        return exported;
+    }
+
+    private int resolveBatchSize(Integer batchSize) {
+        if (batchSize == null) {
+            return DEFAULT_BATCH_SIZE;
+        }
+        if (batchSize < 1) {
+            throw new InvalidQueryException("Batch size must be at least 1");
+        }
+        return Math.min(batchSize, MAX_BATCH_SIZE);
+    }
+}
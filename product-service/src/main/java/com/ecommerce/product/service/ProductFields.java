@@ -0,0 +1,106 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.exception.InvalidQueryException;
+import org.springframework.data.mongodb.core.query.Field;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Field selection for list endpoints, resolved from a {@code fields=} list or a named {@code view}.
+ * A full selection leaves queries untouched; anything narrower becomes a Mongo projection.
+ */
+final class ProductFields {
+
+    static final String VIEW_FULL = "full";
+    static final String VIEW_SUMMARY = "summary";
+
+    private static final List<String> SELECTABLE = List.of("id", "name", "description", "price", "quantity",
+            "userId", "imageIds", "imagePaths", "createdAt", "updatedAt", "version");
+    // Ids and versions back cursors and ETags, so every selection carries them
+    private static final List<String> ALWAYS = List.of("id", "version");
+    private static final List<String> SUMMARY = List.of("id", "version", "name", "price", "imagePaths");
+
+    private static final ProductFields FULL = new ProductFields(null, false);
+    private static final ProductFields VERSIONS = new ProductFields(new LinkedHashSet<>(ALWAYS), false);
+
+    private final Set<String> names;
+    private final boolean firstImageOnly;
+
+    private ProductFields(Set<String> names, boolean firstImageOnly) {
+        this.names = names;
+        this.firstImageOnly = firstImageOnly;
+    }
+
+    static ProductFields resolve(String fields, String view) {
+        boolean hasFields = fields != null && !fields.isBlank();
+        if (hasFields && view != null) {
+            throw new InvalidQueryException("Use either fields or view, not both");
+        }
+        if (hasFields) {
+            Set<String> names = new LinkedHashSet<>(ALWAYS);
+            Arrays.stream(fields.split(","))
+                    .map(String::trim)
+                    .filter(name -> !name.isEmpty())
+                    .forEach(name -> {
+                        if (!SELECTABLE.contains(name)) {
+                            throw new InvalidQueryException("Unknown product field: " + name);
+                        }
+                        names.add(name);
+                    });
+            return new ProductFields(names, false);
+        }
+        if (view == null || VIEW_FULL.equals(view)) {
+            return FULL;
+        }
+        if (VIEW_SUMMARY.equals(view)) {
+            return new ProductFields(new LinkedHashSet<>(SUMMARY), true);
+        }
+        throw new InvalidQueryException("View must be one of: full, summary");
+    }
+
+    /**
+     * Ids and versions only: enough to compute a list validator without loading the documents.
+     */
+    static ProductFields versions() {
+        return VERSIONS;
+    }
+
+    boolean isFull() {
+        return names == null;
+    }
+
+    Set<String> names() {
+        return names;
+    }
+
+    /**
+     * Restricts the query to the selected fields plus any the caller needs internally, such as a sort key.
+     */
+    Query project(Query query, String... requiredFields) {
+        if (isFull()) {
+            return query;
+        }
+        Field projection = query.fields();
+        names.stream()
+                .filter(name -> !"imagePaths".equals(name) || !firstImageOnly)
+                .map(ProductFields::documentField)
+                .forEach(projection::include);
+        Arrays.stream(requiredFields).forEach(projection::include);
+        if (firstImageOnly) {
+            projection.slice("images", 1);
+        }
+        return query;
+    }
+
+    private static String documentField(String name) {
+        return switch (name) {
+            case "id" -> "_id";
+            case "imagePaths" -> "images";
+            default -> name;
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.ProductFilterRequest;
+import com.ecommerce.product.dto.ProductPageResponse;
+import com.ecommerce.product.exception.InvalidQueryException;
+import com.ecommerce.product.mapper.ProductMapper;
+import com.ecommerce.product.model.Product;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductQueryService {
+
+    private static final String SORT_PRICE = "price";
+    private static final String SORT_CREATED_AT = "createdAt";
+    private static final Duration QUERY_MAX_TIME = Duration.ofSeconds(2);
+
+    private final MongoTemplate mongoTemplate;
+    private final ProductMapper productMapper;
+
+    public ProductPageResponse queryProducts(ProductFilterRequest filter) {
+        log.info("Querying products with filter: {}", filter);
+
+        return queryProducts(filter, ProductFields.resolve(filter.getFields(), filter.getView()));
+    }
+
+    /**
+     * Runs the same query as {@link #queryProducts(ProductFilterRequest)} projected to ids, versions and the
+     * sort key, so a conditional read can be validated without loading or mapping the full documents.
+     */
+    public ProductPageResponse queryProductVersions(ProductFilterRequest filter) {
+        ProductFields.resolve(filter.getFields(), filter.getView());
+        return queryProducts(filter, ProductFields.versions());
+    }
+
+    private ProductPageResponse queryProducts(ProductFilterRequest filter, ProductFields selection) {
+        String sortField = filter.getSort() == null ? SORT_CREATED_AT : filter.getSort();
+        Sort.Direction direction = "asc".equals(filter.getDirection()) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        int pageSize = Pagination.resolvePageSize(filter.getLimit());
+
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice() > filter.getMaxPrice()) {
+            throw new InvalidQueryException("Minimum price cannot be greater than maximum price");
+        }
+
+        List<Criteria> criteria = new ArrayList<>();
+        if (filter.getSellerId() != null && !filter.getSellerId().isBlank()) {
+            criteria.add(Criteria.where("userId").is(filter.getSellerId()));
+        }
+        if (filter.getMinPrice() != null || filter.getMaxPrice() != null) {
+            Criteria price = Criteria.where(SORT_PRICE);
+            if (filter.getMinPrice() != null) {
+                price.gte(filter.getMinPrice());
+            }
+            if (filter.getMaxPrice() != null) {
+                price.lte(filter.getMaxPrice());
+            }
+            criteria.add(price);
+        }
+        if (Boolean.TRUE.equals(filter.getInStock())) {
+            criteria.add(Criteria.where("quantity").gt(0));
+        }
+        if (filter.getCursor() != null && !filter.getCursor().isBlank()) {
+            criteria.add(keysetCriteria(filter.getCursor(), sortField, direction));
+        }
+
+        // Sorting on (field, _id) matches the declared compound indexes and gives a total order for keysets
+        Query query = new Query()
+                .with(Sort.by(direction, sortField, "_id"))
+                .limit(pageSize + 1)
+                .maxTime(QUERY_MAX_TIME);
+        if (!criteria.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(criteria));
+        }
+
+        List<Product> products = mongoTemplate.find(selection.project(query, sortField), Product.class);
+        boolean hasMore = products.size() > pageSize;
+        List<Product> page = hasMore ? products.subList(0, pageSize) : products;
+
+        return ProductPageResponse.builder()
+                .items(page.stream()
+                        .map(product -> productMapper.toProductResponse(product, selection.names()))
+                        .collect(Collectors.toList()))
+                .nextCursor(hasMore ? encodeCursor(page.get(page.size() - 1), sortField) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private Criteria keysetCriteria(String cursor, String sortField, Sort.Direction direction) {
+        String[] parts = Pagination.decodeCursor(cursor, 3);
+        if (!sortField.equals(parts[0]) || !ObjectId.isValid(parts[2])) {
+            throw new InvalidQueryException("Invalid page cursor");
+        }
+        Object sortValue = parseSortValue(sortField, parts[1]);
+
+        if (direction == Sort.Direction.ASC) {
+            return new Criteria().orOperator(
+                    Criteria.where(sortField).gt(sortValue),
+                    Criteria.where(sortField).is(sortValue).and("_id").gt(parts[2]));
+        }
+        return new Criteria().orOperator(
+                Criteria.where(sortField).lt(sortValue),
+                Criteria.where(sortField).is(sortValue).and("_id").lt(parts[2]));
+    }
+
+    private Object parseSortValue(String sortField, String value) {
+        try {
+            return SORT_PRICE.equals(sortField) ? Double.valueOf(value) : LocalDateTime.parse(value);
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            throw new InvalidQueryException("Invalid page cursor");
+        }
+    }
+
+    private String encodeCursor(Product last, String sortField) {
+        String sortValue = SORT_PRICE.equals(sortField)
+                ? String.valueOf(last.getPrice())
+                : last.getCreatedAt().toString();
+        return Pagination.encodeCursor(sortField, sortValue, last.getId());
+    }
+}
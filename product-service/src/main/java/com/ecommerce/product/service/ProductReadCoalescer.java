@@ -0,0 +1,58 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.ProductResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Shares one in-flight database load between concurrent reads of the same product or seller listing.
+ * Single-product reads coalesce through the product cache, which runs one load per key; seller listings
+ * go through a {@link SingleFlight}. Publishes product.reads.coalescing{operation, call=originating|coalesced}.
+ */
+@Component
+public class ProductReadCoalescer {
+
+    private final SingleFlight<String, List<ProductResponse>> bySeller;
+    private final Counter byIdOriginating;
+    private final Counter byIdCoalesced;
+
+    public ProductReadCoalescer(MeterRegistry meterRegistry) {
+        this.bySeller = new SingleFlight<>(meterRegistry, "bySeller");
+        this.byIdOriginating = Counter.builder("product.reads.coalescing")
+                .tag("operation", "byId")
+                .tag("call", "originating")
+                .register(meterRegistry);
+        this.byIdCoalesced = Counter.builder("product.reads.coalescing")
+                .tag("operation", "byId")
+                .tag("call", "coalesced")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads a product missing from the cache. The miss counts as originating when this call ran the
+     * loader, and as coalesced when another caller's load served it.
+     */
+    public ProductResponse byId(Cache<String, ProductResponse> cache, String productId,
+                                Function<String, ProductResponse> loader) {
+        boolean[] loaded = {false};
+        try {
+            return cache.get(productId, id -> {
+                loaded[0] = true;
+                return loader.apply(id);
+            });
+        } finally {
+            // Failed loads count too: waiters on a load that throws, e.g. a 404, were still coalesced
+            (loaded[0] ? byIdOriginating : byIdCoalesced).increment();
+        }
+    }
+
+    public List<ProductResponse> bySeller(String key, Supplier<List<ProductResponse>> loader) {
+        return bySeller.execute(key, loader);
+    }
+}
@@ -0,0 +1,176 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.product.exception.InvalidQueryException;
+import com.ecommerce.product.mapper.ProductMapper;
+import com.ecommerce.product.model.Product;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.search.ProductSearchIndex;
+import com.ecommerce.product.search.ProductSuggestIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchService {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+    private static final int INDEX_BUILD_BATCH_SIZE = 1000;
+
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final MongoTemplate mongoTemplate;
+
+    // Products changed while the startup build streams the collection, replayed from the store afterwards
+    private final Set<String> deferredUpdates = new HashSet<>();
+    private volatile boolean building = true;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        log.info("Building product search and suggest indexes");
+
+        Query query = new Query().cursorBatchSize(INDEX_BUILD_BATCH_SIZE);
+        query.fields().include("name", "description");
+
+        try (Stream<Product> products = mongoTemplate.stream(query, Product.class)) {
+            products.forEach(this::applyIndex);
+        } finally {
+            replayDeferredUpdates();
+        }
+
+        log.info("Product search index built with {} products", productSearchIndex.size());
+    }
+
+    public List<ProductResponse> searchProducts(String query, Integer limit) {
+        log.info("Searching products for: {}", query);
+
+        if (query == null || query.isBlank()) {
+            throw new InvalidQueryException("Search query is required");
+        }
+
+        List<String> productIds = productSearchIndex.search(query, resolveLimit(limit));
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Product> productsById = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        return productIds.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .map(productMapper::toProductResponse)
+                .collect(Collectors.toList());
+    }
+
+    public List<String> suggestProducts(String prefix, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new InvalidQueryException("Limit must be at least 1");
+        }
+        int resolvedLimit = limit == null ? ProductSuggestIndex.TOP_K : Math.min(limit, ProductSuggestIndex.TOP_K);
+        return productSuggestIndex.suggest(prefix, resolvedLimit);
+    }
+
+    public void recordView(String productId) {
+        productSuggestIndex.recordView(productId);
+    }
+
+    @Scheduled(fixedDelayString = "${product.suggest.view-flush-interval-ms:1000}")
+    public void flushViews() {
+        productSuggestIndex.flushViews();
+    }
+
+    public void indexProduct(Product product) {
+        if (!deferredDuringBuild(product.getId())) {
+            applyIndex(product);
+        }
+    }
+
+    public void removeProduct(String productId) {
+        if (!deferredDuringBuild(productId)) {
+            applyRemove(productId);
+        }
+    }
+
+    public void refreshProduct(String productId) {
+        productRepository.findById(productId)
+                .ifPresentOrElse(this::indexProduct, () -> removeProduct(productId));
+    }
+
+    /**
+     * Queues a live update while the startup build runs. The build may already hold an older copy of
+     * the product in its cursor, so applying the update now could be overwritten by the stale copy.
+     */
+    private boolean deferredDuringBuild(String productId) {
+        if (!building) {
+            return false;
+        }
+        synchronized (deferredUpdates) {
+            if (building) {
+                deferredUpdates.add(productId);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Re-reads every product changed during the build until no more arrive, then opens the gate.
+     */
+    private void replayDeferredUpdates() {
+        while (true) {
+            List<String> productIds;
+            synchronized (deferredUpdates) {
+                if (deferredUpdates.isEmpty()) {
+                    building = false;
+                    return;
+                }
+                productIds = new ArrayList<>(deferredUpdates);
+                deferredUpdates.clear();
+            }
+            log.info("Replaying {} product updates received during the index build", productIds.size());
+            productIds.forEach(productId -> productRepository.findById(productId)
+                    .ifPresentOrElse(this::applyIndex, () -> applyRemove(productId)));
+        }
+    }
+
+    private void applyIndex(Product product) {
+        productSearchIndex.index(product.getId(), product.getName(), product.getDescription());
+        productSuggestIndex.put(product.getId(), product.getName());
+    }
+
+    private void applyRemove(String productId) {
+        productSearchIndex.remove(productId);
+        productSuggestIndex.remove(productId);
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new InvalidQueryException("Limit must be at least 1");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
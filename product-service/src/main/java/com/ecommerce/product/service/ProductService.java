@@ -1,21 +1,40 @@
 package com.ecommerce.product.service;
 
+import com.ecommerce.observability.mongo.routing.ReadRouting;
+import com.ecommerce.product.dto.BulkCreateProductResponse;
+import com.ecommerce.product.dto.BulkProductResult;
 import com.ecommerce.product.dto.CreateProductRequest;
+import com.ecommerce.product.dto.ProductLookupResult;
+import com.ecommerce.product.dto.ProductPageResponse;
 import com.ecommerce.product.dto.ProductResponse;
 import com.ecommerce.product.dto.UpdateProductRequest;
 import com.ecommerce.product.event.ProductEventProducer;
+import com.ecommerce.product.exception.InvalidQueryException;
 import com.ecommerce.product.exception.InvalidRoleException;
+import com.ecommerce.product.exception.PreconditionFailedException;
 import com.ecommerce.product.exception.ProductNotFoundException;
 import com.ecommerce.product.exception.UnauthorizedAccessException;
 import com.ecommerce.product.mapper.ProductMapper;
 import com.ecommerce.product.model.Product;
+import com.ecommerce.product.model.ProductImage;
 import com.ecommerce.product.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,17 +42,26 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ProductService {
 
+    private static final int MAX_BULK_SIZE = 1000;
+    private static final int MAX_LOOKUP_SIZE = 100;
+
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
     private final ProductEventProducer productEventProducer;
+    private final Cache<String, ProductResponse> productCache;
+    private final ProductSearchService productSearchService;
+    private final ProductBulkWriter productBulkWriter;
+    private final MongoTemplate mongoTemplate;
+    private final ProductReadCoalescer productReadCoalescer;
 
     public ProductResponse createProduct(CreateProductRequest request, String userId, String userRole) {
         log.info("Creating product for user: {}", userId);
 
         validateSellerRole(userRole);
 
-        Product product = buildProductFromRequest(request, userId);
+        Product product = productMapper.toProduct(request, userId);
         Product savedProduct = productRepository.save(product);
+        productSearchService.indexProduct(savedProduct);
 
         log.info("Product created successfully with ID: {}", savedProduct.getId());
 
@@ -46,111 +74,334 @@ public class ProductService {
         return productMapper.toProductResponse(savedProduct);
     }
 
+    public BulkCreateProductResponse createProducts(List<CreateProductRequest> requests, String userId, String userRole) {
+        log.info("Bulk creating {} products for user: {}", requests == null ? 0 : requests.size(), userId);
+
+        validateSellerRole(userRole);
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidQueryException("At least one product is required");
+        }
+        if (requests.size() > MAX_BULK_SIZE) {
+            throw new InvalidQueryException("A bulk request cannot contain more than " + MAX_BULK_SIZE + " products");
+        }
+
+        BulkProductResult[] results = new BulkProductResult[requests.size()];
+        List<Product> products = new ArrayList<>();
+        List<Integer> requestIndexes = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            String error = productBulkWriter.validate(requests.get(i));
+            if (error != null) {
+                results[i] = failedResult(i, error);
+                continue;
+            }
+            Product product = productMapper.toProduct(requests.get(i), userId);
+            // Assign IDs up front so unordered bulk inserts can be matched back to request items
+            product.setId(new ObjectId().toHexString());
+            products.add(product);
+            requestIndexes.add(i);
+        }
+
+        Map<Integer, String> failures = productBulkWriter.insert(products, false);
+
+        int createdCount = 0;
+        for (int position = 0; position < products.size(); position++) {
+            int index = requestIndexes.get(position);
+            if (failures.containsKey(position)) {
+                results[index] = failedResult(index, failures.get(position));
+                continue;
+            }
+            results[index] = BulkProductResult.builder()
+                    .index(index)
+                    .status("CREATED")
+                    .productId(products.get(position).getId())
+                    .build();
+            createdCount++;
+        }
+
+        log.info("Bulk create finished: {} created, {} failed", createdCount, requests.size() - createdCount);
+
+        return BulkCreateProductResponse.builder()
+                .created(createdCount)
+                .failed(requests.size() - createdCount)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
     public ProductResponse getProductById(String productId) {
         log.info("Fetching product with ID: {}", productId);
 
-        Product product = findProductById(productId);
-        return productMapper.toProductResponse(product);
+        ProductResponse response = productCache.getIfPresent(productId);
+        if (response == null) {
+            // Caffeine runs one load per key and concurrent misses wait for it, which collapses the stampede.
+            // Cached entries outlive a request, so they are always loaded from the primary.
+            response = ReadRouting.onPrimary(() -> productReadCoalescer.byId(productCache, productId,
+                    id -> productMapper.toProductResponse(findProductById(id))));
+        }
+        productSearchService.recordView(productId);
+        return response;
     }
 
-    public List<ProductResponse> getAllProducts() {
-        log.info("Fetching all products");
+    public List<ProductLookupResult> getProductsByIds(List<String> productIds) {
+        log.info("Fetching {} products by ID", productIds.size());
 
-        return productRepository.findAll().stream()
-                .map(productMapper::toProductResponse)
+        if (productIds.isEmpty()) {
+            throw new InvalidQueryException("At least one product ID is required");
+        }
+        if (productIds.size() > MAX_LOOKUP_SIZE) {
+            throw new InvalidQueryException("At most " + MAX_LOOKUP_SIZE + " product IDs are allowed per request");
+        }
+
+        // Cached entries are served directly; the misses are loaded together with a single $in query
+        Map<String, ProductResponse> found = ReadRouting.onPrimary(() -> productCache.getAll(productIds, missing ->
+                mongoTemplate.find(Query.query(Criteria.where("_id").in(missing)), Product.class).stream()
+                        .collect(Collectors.toMap(Product::getId, productMapper::toProductResponse))));
+
+        return productIds.stream()
+                .map(id -> ProductLookupResult.builder()
+                        .id(id)
+                        .found(found.containsKey(id))
+                        .product(found.get(id))
+                        .build())
                 .collect(Collectors.toList());
     }
 
-    public List<ProductResponse> getProductsByUserId(String userId) {
+    public ProductPageResponse getAllProducts(String cursor, Integer limit, String fields, String view) {
+        log.info("Fetching products page after cursor: {}", cursor);
+
+        return loadPage(cursor, limit, ProductFields.resolve(fields, view));
+    }
+
+    /**
+     * Returns the same page as {@link #getAllProducts} holding only ids and versions, so a conditional
+     * read can be validated without loading or mapping the full documents.
+     */
+    public ProductPageResponse getAllProductVersions(String cursor, Integer limit, String fields, String view) {
+        ProductFields.resolve(fields, view);
+        return loadPage(cursor, limit, ProductFields.versions());
+    }
+
+    public List<ProductResponse> getProductsByUserId(String userId, String fields, String view) {
         log.info("Fetching products for user: {}", userId);
 
-        return productRepository.findByUserId(userId).stream()
-                .map(productMapper::toProductResponse)
-                .collect(Collectors.toList());
+        ProductFields selection = ProductFields.resolve(fields, view);
+        // Primary and secondary reads never share a flight, so a seller reading their own writes is not handed stale data
+        String key = userId + "|" + fields + "|" + view + "|" + (ReadRouting.isSecondary() ? "secondary" : "primary");
+        return productReadCoalescer.bySeller(key,
+                () -> loadProductsByUserId(userId, selection));
+    }
+
+    /**
+     * Returns the seller's products in listing order holding only ids and versions.
+     */
+    public List<ProductResponse> getProductVersionsByUserId(String userId, String fields, String view) {
+        ProductFields.resolve(fields, view);
+        return loadProductsByUserId(userId, ProductFields.versions());
     }
 
-    public ProductResponse updateProduct(String productId, UpdateProductRequest request, String userId, String userRole) {
+    public ProductResponse updateProduct(String productId, UpdateProductRequest request, String userId, String userRole,
+                                         List<Long> expectedVersions) {
         log.info("Updating product: {} by user: {}", productId, userId);
 
         validateSellerRole(userRole);
-        Product product = findProductById(productId);
-        validateProductOwnership(product, userId);
-
-        updateProductFields(product, request);
-        product.setUpdatedAt(LocalDateTime.now());
 
-        Product updatedProduct = productRepository.save(product);
+        Product updatedProduct = modifyOwnedProduct(productId, userId, expectedVersions, buildFieldUpdate(request));
+        productSearchService.indexProduct(updatedProduct);
+        evictProduct(updatedProduct);
 
         log.info("Product updated successfully: {}", updatedProduct.getId());
 
         return productMapper.toProductResponse(updatedProduct);
     }
 
-    public void deleteProduct(String productId, String userId, String userRole) {
+    public void deleteProduct(String productId, String userId, String userRole, List<Long> expectedVersions) {
         log.info("Deleting product: {} by user: {}", productId, userId);
 
         validateSellerRole(userRole);
-        Product product = findProductById(productId);
-        validateProductOwnership(product, userId);
+        Product product = mongoTemplate.findAndRemove(ownedProductQuery(productId, userId, expectedVersions), Product.class);
+        if (product == null) {
+            throw ownedProductMismatch(productId, userId);
+        }
 
-        productRepository.delete(product);
+        productCache.invalidate(productId);
+        productSearchService.removeProduct(productId);
 
         productEventProducer.publishProductDeletedEvent(productId, userId);
 
         log.info("Product deleted successfully: {}", productId);
     }
 
-    public void addImageToProduct(String productId, String imageId, String userId) {
+    public void addImageToProduct(String productId, String imageId, String userId, List<Long> expectedVersions) {
         log.info("Adding image {} to product: {}", imageId, productId);
 
-        Product product = findProductById(productId);
-        validateProductOwnership(product, userId);
-
-        product.getImageIds().add(imageId);
-        product.setUpdatedAt(LocalDateTime.now());
-        productRepository.save(product);
+        Product product = modifyOwnedProduct(productId, userId, expectedVersions, new Update()
+                .addToSet("imageIds", imageId)
+                .set("updatedAt", LocalDateTime.now()));
+        evictProduct(product);
 
         log.info("Image added to product successfully");
     }
 
-    public void removeImageFromProduct(String productId, String imageId, String userId) {
+    public void removeImageFromProduct(String productId, String imageId, String userId, List<Long> expectedVersions) {
         log.info("Removing image {} from product: {}", imageId, productId);
 
-        Product product = findProductById(productId);
-        validateProductOwnership(product, userId);
-
-        product.getImageIds().remove(imageId);
-        product.setUpdatedAt(LocalDateTime.now());
-        productRepository.save(product);
+        Product product = modifyOwnedProduct(productId, userId, expectedVersions, new Update()
+                .pull("imageIds", imageId)
+                .pull("images", Query.query(Criteria.where("mediaId").is(imageId)).getQueryObject())
+                .set("updatedAt", LocalDateTime.now()));
+        evictProduct(product);
 
         log.info("Image removed from product successfully");
     }
 
-    private Product buildProductFromRequest(CreateProductRequest request, String userId) {
-        return Product.builder()
-                .name(request.getName())
-                .description(request.getDescription())
-                .price(request.getPrice())
-                .quantity(request.getQuantity())
-                .userId(userId)
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
+    private BulkProductResult failedResult(int index, String error) {
+        return BulkProductResult.builder()
+                .index(index)
+                .status("FAILED")
+                .error(error)
+                .build();
+    }
+
+    public void attachMedia(String productId, String mediaId, String imagePath, String uploadedBy) {
+        log.info("Attaching media {} to product: {}", mediaId, productId);
+
+        // Only the product's owner can attach media to it; the filter also skips products that already
+        // carry this media, so redelivered events are no-ops
+        Query query = Query.query(Criteria.where("_id").is(productId).and("userId").is(uploadedBy)
+                .and("images.mediaId").ne(mediaId));
+        Update update = new Update()
+                .addToSet("imageIds", mediaId)
+                .push("images", ProductImage.builder().mediaId(mediaId).imagePath(imagePath).build())
+                .set("updatedAt", LocalDateTime.now());
+        Product product = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Product.class);
+        if (product != null) {
+            evictProduct(product);
+        } else {
+            log.warn("Media {} was not attached to product {}: already attached or not owned by uploader {}",
+                    mediaId, productId, uploadedBy);
+        }
+    }
+
+    public void detachMedia(String productId, String mediaId, String uploadedBy) {
+        log.info("Detaching media {} from product: {}", mediaId, productId);
+
+        Query query = Query.query(Criteria.where("_id").is(productId).and("userId").is(uploadedBy)
+                .and("imageIds").is(mediaId));
+        Update update = new Update()
+                .pull("imageIds", mediaId)
+                .pull("images", Query.query(Criteria.where("mediaId").is(mediaId)).getQueryObject())
+                .set("updatedAt", LocalDateTime.now());
+        Product product = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Product.class);
+        if (product != null) {
+            evictProduct(product);
+        }
+    }
+
+    private ProductPageResponse loadPage(String cursor, Integer limit, ProductFields selection) {
+        int pageSize = Pagination.resolvePageSize(limit);
+
+        // Fetch one extra document to learn whether another page exists without a count query
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.DESC, "_id"))
+                .limit(pageSize + 1);
+        if (cursor != null && !cursor.isBlank()) {
+            query.addCriteria(Criteria.where("_id").lt(decodeCursor(cursor)));
+        }
+        List<Product> products = mongoTemplate.find(selection.project(query), Product.class);
+
+        boolean hasMore = products.size() > pageSize;
+        List<Product> page = hasMore ? products.subList(0, pageSize) : products;
+
+        return ProductPageResponse.builder()
+                .items(page.stream()
+                        .map(product -> productMapper.toProductResponse(product, selection.names()))
+                        .collect(Collectors.toList()))
+                .nextCursor(hasMore ? Pagination.encodeCursor(page.get(page.size() - 1).getId()) : null)
+                .hasMore(hasMore)
                 .build();
     }
 
-    private void updateProductFields(Product product, UpdateProductRequest request) {
+    private List<ProductResponse> loadProductsByUserId(String userId, ProductFields selection) {
+        // A fixed order keeps the listing and its validator stable across reads
+        Sort order = Sort.by(Sort.Direction.ASC, "_id");
+        if (selection.isFull()) {
+            return productRepository.findByUserId(userId, order).stream()
+                    .map(productMapper::toProductResponse)
+                    .collect(Collectors.toList());
+        }
+
+        Query query = selection.project(Query.query(Criteria.where("userId").is(userId)).with(order));
+        return mongoTemplate.find(query, Product.class).stream()
+                .map(product -> productMapper.toProductResponse(product, selection.names()))
+                .collect(Collectors.toList());
+    }
+
+    private Update buildFieldUpdate(UpdateProductRequest request) {
+        Update update = new Update().set("updatedAt", LocalDateTime.now());
         if (request.getName() != null) {
-            product.setName(request.getName());
+            update.set("name", request.getName());
         }
         if (request.getDescription() != null) {
-            product.setDescription(request.getDescription());
+            update.set("description", request.getDescription());
         }
         if (request.getPrice() != null) {
-            product.setPrice(request.getPrice());
+            update.set("price", request.getPrice());
         }
         if (request.getQuantity() != null) {
-            product.setQuantity(request.getQuantity());
+            // The seller states the whole available stock, so blocks held by hot-SKU fronts are void
+            update.set("quantity", request.getQuantity()).unset("holds");
         }
+        return update;
+    }
+
+    // Ownership and the If-Match version are part of the update filter, so the checks and the write
+    // are one atomic round trip. MongoTemplate bumps the @Version field on every findAndModify.
+    private Product modifyOwnedProduct(String productId, String userId, List<Long> expectedVersions, Update update) {
+        Product product = mongoTemplate.findAndModify(ownedProductQuery(productId, userId, expectedVersions), update,
+                FindAndModifyOptions.options().returnNew(true), Product.class);
+        if (product == null) {
+            throw ownedProductMismatch(productId, userId);
+        }
+        return product;
+    }
+
+    private Query ownedProductQuery(String productId, String userId, List<Long> expectedVersions) {
+        Criteria criteria = Criteria.where("_id").is(productId).and("userId").is(userId);
+        if (expectedVersions != null) {
+            List<Long> accepted = new ArrayList<>(expectedVersions);
+            // Documents written before versioning have no version field and are served with version 0
+            if (accepted.contains(0L)) {
+                accepted.add(null);
+            }
+            criteria = criteria.and("version").in(accepted);
+        }
+        return Query.query(criteria);
+    }
+
+    private RuntimeException ownedProductMismatch(String productId, String userId) {
+        if (!productRepository.existsById(productId)) {
+            return new ProductNotFoundException("Product not found with ID: " + productId);
+        }
+        if (!mongoTemplate.exists(Query.query(Criteria.where("_id").is(productId).and("userId").is(userId)),
+                Product.class)) {
+            return new UnauthorizedAccessException("You can only modify your own products");
+        }
+        return new PreconditionFailedException("Product has been modified since it was last fetched");
+    }
+
+    private void evictProduct(Product product) {
+        productCache.invalidate(product.getId());
+        productEventProducer.publishProductUpdatedEvent(product.getId(), product.getUserId(), product.getName());
+    }
+
+    private String decodeCursor(String cursor) {
+        String productId = Pagination.decodeCursor(cursor, 1)[0];
+        if (!ObjectId.isValid(productId)) {
+            throw new InvalidQueryException("Invalid page cursor");
+        }
+        return productId;
     }
 
     private Product findProductById(String productId) {
@@ -163,10 +414,4 @@ public class ProductService {
             throw new InvalidRoleException("Only sellers can manage products");
         }
     }
-
-    private void validateProductOwnership(Product product, String userId) {
-        if (!product.getUserId().equals(userId)) {
-            throw new UnauthorizedAccessException("You can only modify your own products");
-        }
-    }
 }
@@ -0,0 +1,142 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.model.Product;
+import com.ecommerce.product.model.StockHold;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Atomic stock writes on {@code Product.quantity} and on the {@link StockHold}s that hot-SKU fronts keep
+ * beside it. Every method is a single conditional round trip.
+ */
+@Component
+@RequiredArgsConstructor
+class ProductStockStore {
+
+    static final long REVOKED = -1;
+
+    private static final int MAX_ABANDONED_HOLDS = 100;
+
+    private final MongoTemplate mongoTemplate;
+
+    boolean exists(String productId) {
+        return mongoTemplate.exists(byId(productId), Product.class);
+    }
+
+    boolean decrement(String productId, int quantity) {
+        Query available = Query.query(Criteria.where("_id").is(productId).and("quantity").gte(quantity));
+        return mongoTemplate.updateFirst(available, new Update().inc("quantity", -quantity), Product.class)
+                .getMatchedCount() > 0;
+    }
+
+    boolean restock(String productId, String userId, int quantity) {
+        Query ownedProduct = Query.query(Criteria.where("_id").is(productId).and("userId").is(userId));
+        return mongoTemplate.updateFirst(ownedProduct, new Update().inc("quantity", quantity), Product.class)
+                .getMatchedCount() > 0;
+    }
+
+    /**
+     * Moves up to one block from quantity into the hold identified by {@code token}, in one write:
+     * quantity = max(quantity - block, 0) and the hold grows by what was taken. Returns the units taken,
+     * or {@link #REVOKED} when an existing hold has been dropped, e.g. by a seller setting the quantity.
+     */
+    long takeBlock(String productId, String token, boolean holding, int blockSize) {
+        Document taken = new Document("$min", List.of("$quantity", blockSize));
+        Document holds = holding
+                ? new Document("$map", new Document("input", "$holds")
+                        .append("in", new Document("$cond", List.of(
+                                new Document("$eq", List.of("$$this.token", token)),
+                                new Document("$mergeObjects", List.of("$$this", new Document("units",
+                                        new Document("$add", List.of("$$this.units", taken)))
+                                        .append("renewedAt", "$$NOW"))),
+                                "$$this"))))
+                : new Document("$concatArrays", List.of(
+                        new Document("$ifNull", List.of("$holds", List.of())),
+                        List.of(new Document("token", token).append("units", taken).append("renewedAt", "$$NOW"))));
+        AggregationUpdate takeBlock = AggregationUpdate.from(List.of(context -> new Document("$set",
+                new Document("holds", holds).append("quantity", new Document("$max",
+                        List.of(0, new Document("$subtract", List.of("$quantity", blockSize))))))));
+
+        Criteria criteria = Criteria.where("_id").is(productId).and("quantity").gt(0);
+        criteria = holding ? criteria.and("holds.token").is(token) : criteria.and("holds.token").ne(token);
+        Product before = mongoTemplate.findAndModify(Query.query(criteria), takeBlock,
+                FindAndModifyOptions.options().returnNew(false), Product.class);
+        if (before == null) {
+            return holding && !mongoTemplate.exists(holdQuery(productId, Criteria.where("token").is(token)),
+                    Product.class) ? REVOKED : 0;
+        }
+        return Math.min(before.getQuantity(), blockSize);
+    }
+
+    /**
+     * Records {@code units} reserved out of a hold. Returns false when the hold no longer exists.
+     */
+    boolean commitHeld(String productId, String token, long units) {
+        Update update = new Update().inc("holds.$.units", -units)
+                .currentDate("holds.$.renewedAt")
+                // Hold bookkeeping does not change the product representation, so keep version and ETags stable
+                .inc("version", 0);
+        return mongoTemplate.updateFirst(
+                holdQuery(productId, Criteria.where("token").is(token).and("units").gte(units)),
+                update, Product.class).getMatchedCount() > 0;
+    }
+
+    boolean renewHold(String productId, String token) {
+        Update update = new Update().currentDate("holds.$.renewedAt").inc("version", 0);
+        return mongoTemplate.updateFirst(holdQuery(productId, Criteria.where("token").is(token)),
+                update, Product.class).getMatchedCount() > 0;
+    }
+
+    /**
+     * Drops the hold and adds its unreserved units back to quantity in one write. With {@code staleBefore}
+     * the hold is only returned if its holder has not renewed it since. Returns the units handed back.
+     */
+    long returnHold(String productId, String token, LocalDateTime staleBefore) {
+        Criteria hold = Criteria.where("token").is(token);
+        if (staleBefore != null) {
+            hold = hold.and("renewedAt").lt(staleBefore);
+        }
+        Document heldUnits = new Document("$sum", new Document("$map", new Document("input",
+                new Document("$filter", new Document("input", "$holds")
+                        .append("cond", new Document("$eq", List.of("$$this.token", token)))))
+                .append("in", "$$this.units")));
+        AggregationUpdate returnHold = AggregationUpdate.from(List.of(context -> new Document("$set",
+                new Document("quantity", new Document("$add", List.of("$quantity", heldUnits)))
+                        .append("holds", new Document("$filter", new Document("input", "$holds")
+                                .append("cond", new Document("$ne", List.of("$$this.token", token))))))));
+
+        Product before = mongoTemplate.findAndModify(holdQuery(productId, hold), returnHold,
+                FindAndModifyOptions.options().returnNew(false), Product.class);
+        if (before == null) {
+            return 0;
+        }
+        return before.getHolds().stream()
+                .filter(held -> token.equals(held.getToken()))
+                .mapToLong(StockHold::getUnits)
+                .sum();
+    }
+
+    List<Product> findAbandonedHolds(LocalDateTime staleBefore) {
+        Query query = Query.query(Criteria.where("holds.renewedAt").lt(staleBefore)).limit(MAX_ABANDONED_HOLDS);
+        query.fields().include("holds");
+        return mongoTemplate.find(query, Product.class);
+    }
+
+    private Query holdQuery(String productId, Criteria hold) {
+        return Query.query(Criteria.where("_id").is(productId).and("holds").elemMatch(hold));
+    }
+
+    private Query byId(String productId) {
+        return Query.query(Criteria.where("_id").is(productId));
+    }
+}
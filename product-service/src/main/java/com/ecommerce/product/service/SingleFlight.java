@@ -0,0 +1,67 @@
+package com.ecommerce.product.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one load per key at a time; callers arriving while a load is in flight wait for its result.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter originating;
+    private final Counter coalesced;
+
+    SingleFlight(MeterRegistry meterRegistry, String operation) {
+        this.originating = Counter.builder("product.reads.coalescing")
+                .tag("operation", operation)
+                .tag("call", "originating")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("product.reads.coalescing")
+                .tag("operation", operation)
+                .tag("call", "coalesced")
+                .register(meterRegistry);
+    }
+
+    V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        originating.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (Throwable ex) {
+            // Errors as well as exceptions must release the waiters, or they block forever
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            // Waiters see the same failure as the originating caller, e.g. a 404 for a missing product
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
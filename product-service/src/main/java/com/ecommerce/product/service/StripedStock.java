@@ -0,0 +1,153 @@
+package com.ecommerce.product.service;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongPredicate;
+
+/**
+ * Stock already moved from Mongo into this instance's hold for one hot product. Reservations
+ * take from per-thread stripes with CAS, so concurrent buyers rarely touch the same counter, and
+ * are then written to the hold in group commits shared by every reservation waiting at the time.
+ */
+final class StripedStock {
+
+    private final String token = UUID.randomUUID().toString();
+    private final AtomicLongArray stripes;
+    private final int mask;
+    private volatile long lastUsedNanos = System.nanoTime();
+    private boolean closed;
+    private boolean holding;
+
+    private final Object commitLock = new Object();
+    private CompletableFuture<Boolean> openBatch = new CompletableFuture<>();
+    private long openBatchUnits;
+    private boolean committing;
+
+    StripedStock(int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    boolean tryAcquire(int quantity) {
+        lastUsedNanos = System.nanoTime();
+        int start = homeStripe();
+        for (int i = 0; i <= mask; i++) {
+            int index = (start + i) & mask;
+            long current;
+            while ((current = stripes.get(index)) >= quantity) {
+                if (stripes.compareAndSet(index, current, current - quantity)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Gathers fragments left across stripes; callers hold this object's monitor
+    boolean tryAcquireConsolidated(int quantity) {
+        long collected = 0;
+        for (int i = 0; i <= mask && collected < quantity; i++) {
+            collected += stripes.getAndSet(i, 0);
+        }
+        if (collected >= quantity) {
+            stripes.addAndGet(homeStripe(), collected - quantity);
+            return true;
+        }
+        stripes.addAndGet(homeStripe(), collected);
+        return false;
+    }
+
+    synchronized boolean add(long amount) {
+        if (closed) {
+            return false;
+        }
+        holding = true;
+        stripes.addAndGet(homeStripe(), amount);
+        return true;
+    }
+
+    /**
+     * Adds {@code quantity} to the open batch and waits until it is written. When no write is running,
+     * the waiting thread whose batch is open seals it and writes it with {@code write}; everyone who
+     * joined the batch gets its result. Returns false when the write found no hold to record against.
+     */
+    boolean commit(int quantity, LongPredicate write) {
+        CompletableFuture<Boolean> batch;
+        synchronized (commitLock) {
+            openBatchUnits += quantity;
+            batch = openBatch;
+        }
+        while (true) {
+            long units;
+            synchronized (commitLock) {
+                while (!batch.isDone() && (committing || batch != openBatch)) {
+                    try {
+                        commitLock.wait();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while committing a reservation", ex);
+                    }
+                }
+                if (batch.isDone()) {
+                    try {
+                        return batch.join();
+                    } catch (CompletionException ex) {
+                        throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+                    }
+                }
+                committing = true;
+                units = openBatchUnits;
+                openBatchUnits = 0;
+                openBatch = new CompletableFuture<>();
+            }
+
+            Boolean written = null;
+            RuntimeException failure = null;
+            try {
+                written = write.test(units);
+            } catch (RuntimeException ex) {
+                failure = ex;
+            }
+            synchronized (commitLock) {
+                committing = false;
+                if (failure != null) {
+                    batch.completeExceptionally(failure);
+                } else {
+                    batch.complete(written);
+                }
+                commitLock.notifyAll();
+            }
+        }
+    }
+
+    // Local units are discarded: the hold in Mongo is what gets handed back
+    synchronized void close() {
+        closed = true;
+        for (int i = 0; i <= mask; i++) {
+            stripes.set(i, 0);
+        }
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    synchronized boolean isHolding() {
+        return holding;
+    }
+
+    String getToken() {
+        return token;
+    }
+
+    boolean idleLongerThan(long nanos) {
+        return System.nanoTime() - lastUsedNanos > nanos;
+    }
+
+    private int homeStripe() {
+        return (int) Thread.currentThread().getId() & mask;
+    }
+}
@@ -0,0 +1,147 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.model.Product;
+import com.ecommerce.product.model.StockHold;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single-product stand-in for {@link ProductStockStore} with the same conditional semantics, where
+ * each synchronized method plays the part of one atomic Mongo write taking {@code writeLatencyNanos}.
+ */
+class InMemoryStockStore extends ProductStockStore {
+
+    private final String productId;
+    private long quantity;
+    private final Map<String, StockHold> holds = new LinkedHashMap<>();
+    private final long writeLatencyNanos;
+    private final AtomicLong writes = new AtomicLong();
+
+    InMemoryStockStore(String productId, long quantity) {
+        this(productId, quantity, 0);
+    }
+
+    InMemoryStockStore(String productId, long quantity, long writeLatencyNanos) {
+        super(null);
+        this.productId = productId;
+        this.quantity = quantity;
+        this.writeLatencyNanos = writeLatencyNanos;
+    }
+
+    synchronized long quantity() {
+        return quantity;
+    }
+
+    synchronized long heldUnits() {
+        return holds.values().stream().mapToLong(StockHold::getUnits).sum();
+    }
+
+    long writes() {
+        return writes.get();
+    }
+
+    // What a seller update of the quantity does to the document
+    synchronized void setQuantity(long quantity) {
+        this.quantity = quantity;
+        holds.clear();
+    }
+
+    @Override
+    boolean exists(String productId) {
+        return this.productId.equals(productId);
+    }
+
+    @Override
+    synchronized boolean decrement(String productId, int quantity) {
+        write();
+        if (!exists(productId) || this.quantity < quantity) {
+            return false;
+        }
+        this.quantity -= quantity;
+        return true;
+    }
+
+    @Override
+    synchronized boolean restock(String productId, String userId, int quantity) {
+        write();
+        this.quantity += quantity;
+        return exists(productId);
+    }
+
+    @Override
+    synchronized long takeBlock(String productId, String token, boolean holding, int blockSize) {
+        write();
+        StockHold hold = holds.get(token);
+        if (holding && hold == null) {
+            return REVOKED;
+        }
+        if (!exists(productId) || quantity == 0 || (!holding && hold != null)) {
+            return 0;
+        }
+        long taken = Math.min(quantity, blockSize);
+        quantity -= taken;
+        if (hold == null) {
+            hold = new StockHold(token, 0, null);
+            holds.put(token, hold);
+        }
+        hold.setUnits(hold.getUnits() + taken);
+        hold.setRenewedAt(LocalDateTime.now());
+        return taken;
+    }
+
+    @Override
+    synchronized boolean commitHeld(String productId, String token, long units) {
+        write();
+        StockHold hold = holds.get(token);
+        if (hold == null || hold.getUnits() < units) {
+            return false;
+        }
+        hold.setUnits(hold.getUnits() - units);
+        hold.setRenewedAt(LocalDateTime.now());
+        return true;
+    }
+
+    @Override
+    synchronized boolean renewHold(String productId, String token) {
+        StockHold hold = holds.get(token);
+        if (hold == null) {
+            return false;
+        }
+        hold.setRenewedAt(LocalDateTime.now());
+        return true;
+    }
+
+    @Override
+    synchronized long returnHold(String productId, String token, LocalDateTime staleBefore) {
+        write();
+        StockHold hold = holds.get(token);
+        if (hold == null || (staleBefore != null && !hold.getRenewedAt().isBefore(staleBefore))) {
+            return 0;
+        }
+        holds.remove(token);
+        quantity += hold.getUnits();
+        return hold.getUnits();
+    }
+
+    @Override
+    synchronized List<Product> findAbandonedHolds(LocalDateTime staleBefore) {
+        List<StockHold> stale = new ArrayList<>();
+        holds.values().stream()
+                .filter(hold -> hold.getRenewedAt().isBefore(staleBefore))
+                .forEach(hold -> stale.add(new StockHold(hold.getToken(), hold.getUnits(), hold.getRenewedAt())));
+        return stale.isEmpty() ? List.of() : List.of(Product.builder().id(productId).holds(stale).build());
+    }
+
+    private void write() {
+        writes.incrementAndGet();
+        if (writeLatencyNanos > 0) {
+            LockSupport.parkNanos(writeLatencyNanos);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.config.InventoryConfig;
+import com.ecommerce.product.exception.InsufficientStockException;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives {@link InventoryService} with far more concurrent reservations than there is stock and checks
+ * that every unit is reserved exactly once, including after a crash and a seller quantity update.
+ * The store is in memory; {@link ProductStockStoreTest} runs the real Mongo writes.
+ */
+class InventoryServiceConcurrencyTest {
+
+    private static final String PRODUCT_ID = "hot-sku";
+    private static final int STOCK = 10_000;
+    private static final int RESERVATIONS = 20_000;
+    private static final int THREADS = 200;
+    private static final long WRITE_LATENCY_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    @Test
+    void concurrentReservationsNeverOversell() throws InterruptedException {
+        InMemoryStockStore store = new InMemoryStockStore(PRODUCT_ID, STOCK, WRITE_LATENCY_NANOS);
+        InventoryService inventoryService = inventoryService(store, 60);
+
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < RESERVATIONS; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    inventoryService.reserve(PRODUCT_ID, 1, "buyer");
+                    reserved.incrementAndGet();
+                } catch (InsufficientStockException ex) {
+                    rejected.incrementAndGet();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+        inventoryService.returnAllStock();
+
+        assertEquals(STOCK, reserved.get());
+        assertEquals(RESERVATIONS - STOCK, rejected.get());
+        assertEquals(0, store.quantity());
+        assertEquals(0, store.heldUnits());
+        // Hot-SKU fronts batch reservations into block takes and hold commits instead of one write each
+        assertTrue(store.writes() < RESERVATIONS,
+                () -> store.writes() + " store writes for " + RESERVATIONS + " reservations");
+    }
+
+    @Test
+    void holdOfCrashedInstanceIsReturnedWithoutReservedUnits() throws InterruptedException {
+        InMemoryStockStore store = new InMemoryStockStore(PRODUCT_ID, 1_000);
+        InventoryService crashed = inventoryService(store, 0);
+        for (int i = 0; i < 200; i++) {
+            crashed.reserve(PRODUCT_ID, 1, "buyer");
+        }
+        assertTrue(store.heldUnits() > 0);
+
+        // The crashed instance never renews or returns its hold; any other instance reclaims it
+        Thread.sleep(10);
+        inventoryService(store, 0).reclaimAbandonedHolds();
+
+        assertEquals(0, store.heldUnits());
+        assertEquals(800, store.quantity());
+    }
+
+    @Test
+    void sellerQuantityUpdateIsNotInflatedByHeldStock() {
+        InMemoryStockStore store = new InMemoryStockStore(PRODUCT_ID, 1_000);
+        InventoryService inventoryService = inventoryService(store, 60);
+        for (int i = 0; i < 100; i++) {
+            inventoryService.reserve(PRODUCT_ID, 1, "buyer");
+        }
+        assertTrue(store.heldUnits() > 0);
+
+        store.setQuantity(500);
+        inventoryService.reserve(PRODUCT_ID, 1, "buyer");
+        inventoryService.returnAllStock();
+
+        assertEquals(499, store.quantity());
+        assertEquals(0, store.heldUnits());
+    }
+
+    private InventoryService inventoryService(InMemoryStockStore store, long holdLeaseSeconds) {
+        InventoryConfig config = new InventoryConfig();
+        ReflectionTestUtils.setField(config, "blockSize", 50);
+        ReflectionTestUtils.setField(config, "hotThresholdPerSecond", 20);
+        ReflectionTestUtils.setField(config, "idleSeconds", 10L);
+        ReflectionTestUtils.setField(config, "stripes", 16);
+        ReflectionTestUtils.setField(config, "holdLeaseSeconds", holdLeaseSeconds);
+        return new InventoryService(store, config, Caffeine.newBuilder().build());
+    }
+}
@@ -0,0 +1,168 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.config.InventoryConfig;
+import com.ecommerce.product.exception.InsufficientStockException;
+import com.ecommerce.product.model.Product;
+import com.ecommerce.product.model.StockHold;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the aggregation-pipeline writes of {@link ProductStockStore} against a real MongoDB, which
+ * {@link InMemoryStockStore} only imitates. Skipped when no Docker daemon is available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ProductStockStoreTest {
+
+    private static final String PRODUCT_ID = "hot-sku";
+
+    @Container
+    private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+    private MongoTemplate mongoTemplate;
+    private ProductStockStore store;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = new MongoTemplate(MongoClients.create(MONGO.getReplicaSetUrl()), "stock");
+        mongoTemplate.dropCollection(Product.class);
+        store = new ProductStockStore(mongoTemplate);
+    }
+
+    @Test
+    void takeBlockMovesStockIntoTheHoldAndStopsAtZero() {
+        insertProduct(70);
+
+        assertEquals(50, store.takeBlock(PRODUCT_ID, "front-a", false, 50));
+        assertEquals(20, store.takeBlock(PRODUCT_ID, "front-a", true, 50));
+        assertEquals(0, store.takeBlock(PRODUCT_ID, "front-a", true, 50));
+
+        Product product = product();
+        assertEquals(0, product.getQuantity());
+        assertEquals(70, hold(product, "front-a").getUnits());
+    }
+
+    @Test
+    void takeBlockReportsARevokedHold() {
+        insertProduct(100);
+        store.takeBlock(PRODUCT_ID, "front-a", false, 50);
+
+        // A seller setting the quantity drops every hold
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(PRODUCT_ID)),
+                new Update().set("quantity", 10).unset("holds"), Product.class);
+
+        assertEquals(ProductStockStore.REVOKED, store.takeBlock(PRODUCT_ID, "front-a", true, 50));
+    }
+
+    @Test
+    void commitHeldNeverOverdrawsTheHoldOrBumpsTheVersion() {
+        insertProduct(100);
+        store.takeBlock(PRODUCT_ID, "front-a", false, 50);
+        long version = product().getVersion();
+
+        assertTrue(store.commitHeld(PRODUCT_ID, "front-a", 30));
+        assertFalse(store.commitHeld(PRODUCT_ID, "front-a", 30));
+        assertFalse(store.commitHeld(PRODUCT_ID, "front-b", 1));
+
+        Product product = product();
+        assertEquals(20, hold(product, "front-a").getUnits());
+        assertEquals(version, product.getVersion());
+    }
+
+    @Test
+    void returnHoldAddsUnreservedUnitsBackOnlyWhenStale() {
+        insertProduct(100);
+        store.takeBlock(PRODUCT_ID, "front-a", false, 50);
+        store.takeBlock(PRODUCT_ID, "front-b", false, 50);
+        store.commitHeld(PRODUCT_ID, "front-a", 10);
+
+        assertEquals(0, store.returnHold(PRODUCT_ID, "front-a", LocalDateTime.now().minusMinutes(1)));
+        assertEquals(40, store.returnHold(PRODUCT_ID, "front-a", null));
+        assertEquals(0, store.returnHold(PRODUCT_ID, "front-a", null));
+
+        Product product = product();
+        assertEquals(40, product.getQuantity());
+        assertNull(hold(product, "front-a"));
+        assertEquals(50, hold(product, "front-b").getUnits());
+    }
+
+    @Test
+    void concurrentReservationsNeverOversell() throws InterruptedException {
+        int stock = 1_000;
+        int reservations = 2_000;
+        insertProduct(stock);
+        InventoryService inventoryService = inventoryService();
+
+        AtomicInteger reserved = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < reservations; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    inventoryService.reserve(PRODUCT_ID, 1, "buyer");
+                    reserved.incrementAndGet();
+                } catch (InsufficientStockException ex) {
+                    // Expected once the stock is gone
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+        inventoryService.returnAllStock();
+
+        Product product = product();
+        assertEquals(stock, reserved.get());
+        assertEquals(0, product.getQuantity());
+        assertTrue(product.getHolds() == null || product.getHolds().isEmpty());
+    }
+
+    private void insertProduct(int quantity) {
+        mongoTemplate.insert(Product.builder().id(PRODUCT_ID).userId("seller").quantity(quantity).build());
+    }
+
+    private Product product() {
+        return mongoTemplate.findById(PRODUCT_ID, Product.class);
+    }
+
+    private static StockHold hold(Product product, String token) {
+        List<StockHold> holds = product.getHolds() == null ? List.of() : product.getHolds();
+        return holds.stream().filter(hold -> token.equals(hold.getToken())).findFirst().orElse(null);
+    }
+
+    private InventoryService inventoryService() {
+        InventoryConfig config = new InventoryConfig();
+        ReflectionTestUtils.setField(config, "blockSize", 50);
+        ReflectionTestUtils.setField(config, "hotThresholdPerSecond", 20);
+        ReflectionTestUtils.setField(config, "idleSeconds", 10L);
+        ReflectionTestUtils.setField(config, "stripes", 16);
+        ReflectionTestUtils.setField(config, "holdLeaseSeconds", 60L);
+        return new InventoryService(store, config, Caffeine.newBuilder().build());
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.user.config;
+
+import com.ecommerce.observability.mongo.index.IndexProbes;
+import com.ecommerce.user.model.User;
+import org.bson.Document;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MongoIndexConfig {
+
+    @Bean
+    public IndexProbes userIndexProbes() {
+        return IndexProbes.forEntities(User.class)
+                .query("UserRepository.findByEmail", User.class, new Document("email", IndexProbes.PROBE));
+    }
+}